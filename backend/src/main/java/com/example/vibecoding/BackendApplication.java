@@ -2,10 +2,8 @@ package com.example.vibecoding;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.retry.annotation.EnableRetry;
 
 @SpringBootApplication
-@EnableRetry
 public class BackendApplication {
 
     public static void main(String[] args) {
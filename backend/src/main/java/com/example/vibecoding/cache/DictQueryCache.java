@@ -0,0 +1,231 @@
+package com.example.vibecoding.cache;
+
+import com.example.vibecoding.config.DictCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 字典查询结果本地缓存
+ * 条目在 ttl 内为新鲜，直接返回；ttl 之后的 stale-window 内返回旧值，并只触发一次异步刷新；
+ * 超过 ttl + stale-window 后被淘汰，下次查询重新回源
+ */
+@Component
+public class DictQueryCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DictQueryCache.class);
+
+    private final DictCacheProperties properties;
+    private final Ticker ticker;
+    private final Cache<DictQueryKey, Entry> cache;
+    private final Cache<DictQueryKey, Map<String, Object>> lastKnownGood;
+
+    private final Counter hitCounter;
+    private final Counter staleHitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Counter refreshFailureCounter;
+
+    @Autowired
+    public DictQueryCache(DictCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    DictQueryCache(DictCacheProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.staleHitCounter = requestCounter(meterRegistry, "stale");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+        this.evictionCounter = Counter.builder("dict.cache.evictions")
+                .description("因容量或过期被淘汰的字典缓存条目数")
+                .register(meterRegistry);
+        this.refreshFailureCounter = Counter.builder("dict.cache.refresh.failures")
+                .description("后台刷新失败次数")
+                .register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumWeight(properties.getMaxWeight())
+                .<DictQueryKey, Entry>weigher((key, entry) -> entry.weight)
+                .expireAfter(new StaleAwareExpiry())
+                .removalListener((DictQueryKey key, Entry entry, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictionCounter.increment();
+                    }
+                })
+                .executor(Runnable::run)
+                .build();
+        this.lastKnownGood = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumWeight(properties.getMaxWeight())
+                .<DictQueryKey, Map<String, Object>>weigher((key, value) -> weigh(value))
+                .expireAfterWrite(properties.getLastKnownGoodTtl())
+                .executor(Runnable::run)
+                .build();
+
+        Gauge.builder("dict.cache.size", cache, Cache::estimatedSize)
+                .description("字典缓存条目数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 读取缓存，未命中时调用 loader 回源
+     * @param key 查询键
+     * @param loader 发起回源并返回结果future，结果为null时不缓存
+     * @return 查询结果
+     */
+    public CompletableFuture<Map<String, Object>> get(DictQueryKey key,
+                                                      Supplier<CompletableFuture<Map<String, Object>>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            missCounter.increment();
+            return loader.get().thenApply(value -> {
+                put(key, value);
+                return value;
+            });
+        }
+        if (ticker.read() < entry.freshUntilNanos) {
+            hitCounter.increment();
+        } else {
+            staleHitCounter.increment();
+            scheduleRefresh(key, entry, loader);
+        }
+        return CompletableFuture.completedFuture(entry.value);
+    }
+
+    /**
+     * 读取条目（不论新鲜或过期），不触发回源
+     */
+    public Map<String, Object> peek(DictQueryKey key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * 最近一次成功的结果（不受新鲜期限制），用于熔断时兜底
+     */
+    public Map<String, Object> getLastKnownGood(DictQueryKey key) {
+        return lastKnownGood.getIfPresent(key);
+    }
+
+    public void put(DictQueryKey key, Map<String, Object> value) {
+        if (value == null || !properties.isEnabled()) {
+            return;
+        }
+        Map<String, Object> unmodifiable = Collections.unmodifiableMap(value);
+        cache.put(key, new Entry(unmodifiable, weigh(value),
+                ticker.read() + properties.ttlOf(key.getDictType()).toNanos()));
+        lastKnownGood.put(key, unmodifiable);
+    }
+
+    /**
+     * 失效某个 dictType 下的全部分页缓存
+     * @return 被移除的条目数
+     */
+    public int invalidate(String dictType) {
+        lastKnownGood.asMap().keySet().removeIf(key -> key.getDictType().equals(dictType));
+        AtomicInteger removed = new AtomicInteger();
+        cache.asMap().keySet().removeIf(key -> {
+            if (key.getDictType().equals(dictType)) {
+                removed.incrementAndGet();
+                return true;
+            }
+            return false;
+        });
+        return removed.get();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        lastKnownGood.invalidateAll();
+    }
+
+    private void scheduleRefresh(DictQueryKey key, Entry entry,
+                                 Supplier<CompletableFuture<Map<String, Object>>> loader) {
+        // 每个条目同一时间只允许一个后台刷新
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture<Map<String, Object>> refresh;
+        try {
+            refresh = loader.get();
+        } catch (RuntimeException e) {
+            refresh = new CompletableFuture<>();
+            refresh.completeExceptionally(e);
+        }
+        refresh.whenComplete((value, e) -> {
+            if (e != null) {
+                refreshFailureCounter.increment();
+                logger.warn("Dict cache refresh failed, key: {}", key, e);
+            } else {
+                put(key, value);
+            }
+            entry.refreshing.set(false);
+        });
+    }
+
+    private static int weigh(Map<String, Object> value) {
+        Object data = value.get("data");
+        return data instanceof Collection ? 1 + ((Collection<?>) data).size() : 1;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("dict.cache.requests")
+                .description("字典缓存请求次数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+        final Map<String, Object> value;
+        final int weight;
+        final long freshUntilNanos;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(Map<String, Object> value, int weight, long freshUntilNanos) {
+            this.value = value;
+            this.weight = weight;
+            this.freshUntilNanos = freshUntilNanos;
+        }
+    }
+
+    /**
+     * 条目存活时间 = dictType 对应的 ttl + stale-window
+     */
+    private final class StaleAwareExpiry implements Expiry<DictQueryKey, Entry> {
+        @Override
+        public long expireAfterCreate(DictQueryKey key, Entry entry, long currentTime) {
+            return properties.ttlOf(key.getDictType()).plus(properties.getStaleWindow()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(DictQueryKey key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(DictQueryKey key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
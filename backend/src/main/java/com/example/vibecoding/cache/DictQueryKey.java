@@ -0,0 +1,13 @@
+package com.example.vibecoding.cache;
+
+import lombok.Value;
+
+/**
+ * 字典查询缓存键
+ */
+@Value
+public class DictQueryKey {
+    String dictType;
+    Long pageNum;
+    Long pageSize;
+}
@@ -0,0 +1,65 @@
+package com.example.vibecoding.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 项目列表总数的短时缓存（countMode=estimate）
+ * 按关键字缓存 COUNT 结果，项目增删改时整体失效，因此偏差只来自并发写入与 ttl 内的其他实例写入
+ */
+@Component
+public class ProjectCountCache {
+
+    private final Cache<String, Long> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ProjectCountCache(MeterRegistry meterRegistry,
+                             @Value("${project.list.count-cache.ttl:30s}") Duration ttl,
+                             @Value("${project.list.count-cache.max-size:1000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * 读取缓存的总数，未命中时执行 counter 并缓存
+     * @param keyword 与 COUNT 查询相同的、已规范化的关键字，null 表示无关键字
+     */
+    public long get(String keyword, LongSupplier counter) {
+        String key = keyword == null ? "" : keyword;
+        Long cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+        missCounter.increment();
+        long count = counter.getAsLong();
+        cache.put(key, count);
+        return count;
+    }
+
+    /**
+     * 项目数据变更后调用，任意关键字的总数都可能变化
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("project.count.cache.requests")
+                .description("项目列表总数缓存请求次数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
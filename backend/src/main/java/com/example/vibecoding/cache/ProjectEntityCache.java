@@ -0,0 +1,105 @@
+package com.example.vibecoding.cache;
+
+import com.example.vibecoding.datasource.RoutingContext;
+import com.example.vibecoding.model.entity.Project;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 项目实体按 id 的本地读穿缓存
+ * 只缓存未被逻辑删除的行（getById 自带 deleted=0 条件，查不到的不缓存），
+ * 本实例的更新、删除会同步失效；命中率通过 cache.gets{cache=project_entity} 暴露
+ * 开启读写分离时，只读方法中的回源查询走从库：从库可能有复制延迟，这类条目只保留 replica-ttl，
+ * 写操作的存在性检查通过 {@link #getFromPrimary} 跳过它们
+ */
+@Component
+public class ProjectEntityCache {
+
+    private final Cache<Long, Entry> cache;
+    private final boolean routingEnabled;
+
+    public ProjectEntityCache(MeterRegistry meterRegistry,
+                              @Value("${project.entity-cache.ttl:5m}") Duration ttl,
+                              @Value("${project.entity-cache.replica-ttl:5s}") Duration replicaTtl,
+                              @Value("${project.entity-cache.max-size:10000}") long maxSize,
+                              @Value("${datasource.routing.enabled:false}") boolean routingEnabled) {
+        this.routingEnabled = routingEnabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(new Expiry<Long, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Entry entry, long currentTime) {
+                        return (entry.fromReplica ? replicaTtl : ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "project_entity");
+    }
+
+    /**
+     * 读取项目，未命中时调用 loader 回源（按当前路由状态走主库或从库）；loader 返回 null（不存在或已删除）时不缓存
+     */
+    public Project get(Long id, Function<Long, Project> loader) {
+        Entry entry = cache.get(id, key -> load(key, loader, routingEnabled && RoutingContext.isReplicaAllowed()));
+        return entry == null ? null : entry.project;
+    }
+
+    /**
+     * 读取主库回源的项目，供写操作在其基础上合并；缓存中从库回源的条目会被忽略并以主库结果替换
+     * 调用方需保证 loader 走主库（不在只读方法中调用）
+     */
+    public Project getFromPrimary(Long id, Function<Long, Project> loader) {
+        Entry entry = cache.getIfPresent(id);
+        if (entry != null && !entry.fromReplica) {
+            return entry.project;
+        }
+        entry = load(id, loader, false);
+        if (entry == null) {
+            return null;
+        }
+        cache.put(id, entry);
+        return entry.project;
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static Entry load(Long id, Function<Long, Project> loader, boolean fromReplica) {
+        Project project = loader.apply(id);
+        return project == null ? null : new Entry(project, fromReplica);
+    }
+
+    private static final class Entry {
+        private final Project project;
+        private final boolean fromReplica;
+
+        Entry(Project project, boolean fromReplica) {
+            this.project = project;
+            this.fromReplica = fromReplica;
+        }
+    }
+}
@@ -3,7 +3,11 @@ package com.example.vibecoding.common;
 public enum ErrorCode {
     PARAM_VALIDATION_FAILED(40001, "参数校验失败"),
     REQUEST_PARAM_ERROR(40002, "请求参数格式/类型错误"),
+    BATCH_ITEM_SKIPPED(40003, "批量操作中其他条目失败，本条目未执行"),
     PROJECT_NOT_FOUND(40401, "项目不存在"),
+    PROJECT_EXPORT_LIMITED(42902, "导出任务过多，请稍后重试"),
+    DICT_RATE_LIMITED(42901, "字典服务调用过于频繁，请稍后重试"),
+    DICT_CIRCUIT_OPEN(50301, "字典服务暂不可用，请稍后重试"),
     INTERNAL_SERVER_ERROR(50000, "服务内部错误");
 
     private final int code;
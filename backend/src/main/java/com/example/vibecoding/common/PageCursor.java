@@ -0,0 +1,51 @@
+package com.example.vibecoding.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * 游标分页位置：按 (created_at, id) 倒序时上一页最后一行的排序键
+ * 对外以 URL 安全的 Base64 字符串传递，调用方不应解析其内容
+ */
+public final class PageCursor {
+
+    private final Date createdAt;
+    private final long id;
+
+    public PageCursor(Date createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     * @throws BusinessException 游标格式不合法
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new PageCursor(new Date(Long.parseLong(raw.substring(0, separator))),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.REQUEST_PARAM_ERROR, "分页游标无效");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.vibecoding.config;
+
+import com.example.vibecoding.service.RequestContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * 开启 @Async，并让默认任务执行器在提交时捕获 {@link RequestContext}、在执行线程上恢复（含 MDC）
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Spring Boot 会把唯一的 TaskDecorator 应用到 applicationTaskExecutor
+     */
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return task -> RequestContext.capture().wrap(task);
+    }
+}
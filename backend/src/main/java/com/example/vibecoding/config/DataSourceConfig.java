@@ -0,0 +1,151 @@
+package com.example.vibecoding.config;
+
+import com.example.vibecoding.datasource.ConnectionPoolHealthIndicator;
+import com.example.vibecoding.datasource.ReadOnlyRoutingAspect;
+import com.example.vibecoding.datasource.ReadWriteRoutingDataSource;
+import com.example.vibecoding.datasource.RoutingContextFilter;
+import com.example.vibecoding.datasource.WorkloadRoutingDataSource;
+import com.example.vibecoding.datasource.WriteTrackingInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据源配置
+ * - OLTP 连接池：spring.datasource.* + spring.datasource.hikari.*，开启读写分离时再加上从库连接池
+ * - 调用日志连接池：在 OLTP 配置基础上叠加 datasource.call-log.hikari.*，供后台批量写入独占
+ * 所有连接池都导出 Micrometer 指标（hikaricp.connections.* 含取连接等待耗时 acquire，按 pool 标签区分）
+ */
+@Configuration
+@EnableConfigurationProperties({DataSourceProperties.class, DataSourceRoutingProperties.class})
+public class DataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+    private static final String CALL_LOG_HIKARI_PREFIX = "datasource.call-log.hikari";
+
+    @Bean
+    @Primary
+    public WorkloadRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                DataSourceRoutingProperties routingProperties,
+                                                Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = createPool(dataSourceProperties, binder, "oltp");
+
+        DataSource oltp = primary;
+        if (routingProperties.isEnabled()) {
+            List<DataSource> replicas = new ArrayList<>();
+            List<DataSourceRoutingProperties.Replica> replicaConfigs = routingProperties.getReplicas();
+            for (int i = 0; i < replicaConfigs.size(); i++) {
+                HikariDataSource replica = createReplicaPool(dataSourceProperties, replicaConfigs.get(i), binder,
+                        primary.getPoolName() + "-replica-" + i);
+                replicas.add(replica);
+            }
+            oltp = new ReadWriteRoutingDataSource(primary, replicas, routingProperties.getStrategy());
+            ((ReadWriteRoutingDataSource) oltp).afterPropertiesSet();
+        }
+
+        HikariDataSource callLog = createPool(dataSourceProperties, binder, "call-log");
+        callLog.setPoolName("call-log");
+        binder.bind(CALL_LOG_HIKARI_PREFIX, Bindable.ofInstance(callLog));
+
+        return new WorkloadRoutingDataSource(oltp, callLog);
+    }
+
+    @Bean
+    public MeterBinder connectionPoolMetrics(WorkloadRoutingDataSource dataSource) {
+        return registry -> dataSource.getHikariPools().forEach(pool -> bindMetrics(pool, registry));
+    }
+
+    private static void bindMetrics(HikariDataSource pool, MeterRegistry registry) {
+        // Spring Boot 自带的绑定只能发现路由当前指向的一个池，这里补齐其余连接池
+        if (pool.getMetricRegistry() != null || pool.getMetricsTrackerFactory() != null) {
+            return;
+        }
+        try {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        } catch (Exception e) {
+            logger.warn("Failed to bind metrics to connection pool {}", pool.getPoolName(), e);
+        }
+    }
+
+    @Bean
+    public ConnectionPoolHealthIndicator connectionPoolHealthIndicator(WorkloadRoutingDataSource dataSource) {
+        return new ConnectionPoolHealthIndicator(dataSource.getHikariPools());
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, Binder binder, String defaultPoolName) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+        if (!StringUtils.hasText(pool.getPoolName())) {
+            pool.setPoolName(defaultPoolName);
+        }
+        return pool;
+    }
+
+    private static HikariDataSource createReplicaPool(DataSourceProperties properties,
+                                                      DataSourceRoutingProperties.Replica config,
+                                                      Binder binder, String poolName) {
+        HikariDataSource replica = new HikariDataSource();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+        replica.setJdbcUrl(config.getUrl());
+        replica.setUsername(StringUtils.hasText(config.getUsername())
+                ? config.getUsername() : properties.determineUsername());
+        replica.setPassword(config.getPassword() != null
+                ? config.getPassword() : properties.determinePassword());
+        replica.setDriverClassName(StringUtils.hasText(config.getDriverClassName())
+                ? config.getDriverClassName() : properties.determineDriverClassName());
+        replica.setPoolName(poolName);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    /**
+     * 读写分离的路由切面、写操作跟踪与请求边界（datasource.routing.enabled=true 时生效）
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+    static class ReadWriteRoutingConfig {
+
+        @Bean
+        public ReadOnlyRoutingAspect readOnlyRoutingAspect() {
+            return new ReadOnlyRoutingAspect();
+        }
+
+        @Bean
+        public WriteTrackingInterceptor writeTrackingInterceptor() {
+            return new WriteTrackingInterceptor();
+        }
+
+        @Bean
+        public FilterRegistrationBean<RoutingContextFilter> routingContextFilter() {
+            FilterRegistrationBean<RoutingContextFilter> registration =
+                    new FilterRegistrationBean<>(new RoutingContextFilter());
+            registration.addUrlPatterns("/*");
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+}
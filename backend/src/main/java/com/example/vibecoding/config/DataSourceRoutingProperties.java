@@ -0,0 +1,46 @@
+package com.example.vibecoding.config;
+
+import com.example.vibecoding.datasource.ReplicaSelectionStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置，主库沿用 spring.datasource.*，从库连接池沿用 spring.datasource.hikari.*
+ */
+@Data
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * 是否启用读写分离
+     */
+    private boolean enabled = false;
+
+    /**
+     * 从库选择策略
+     */
+    private ReplicaSelectionStrategy strategy = ReplicaSelectionStrategy.ROUND_ROBIN;
+
+    /**
+     * 从库列表，为空时全部走主库
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        /**
+         * 未配置时沿用主库的用户名/密码/驱动
+         */
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.vibecoding.config;
+
+import com.example.vibecoding.resilience.AsyncRetryExecutor;
+import com.example.vibecoding.resilience.RetryPolicy;
+import com.example.vibecoding.util.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 第三方字典服务异步调用配置
+ * 第三方调用在独立的 dict-io 线程池上执行，重试退避由 dict-retry-timer 定时调度，Servlet 线程不参与等待；
+ * 开启虚拟线程模式时每次尝试使用一个虚拟线程，并发由 HTTP 连接池与出站限流约束
+ */
+@Configuration
+public class DictAsyncConfig {
+
+    @Value("${third-party.dict.async.io-threads:50}")
+    private int ioThreads;
+
+    @Value("${third-party.dict.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${third-party.dict.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${third-party.dict.retry.initial-delay-ms:1000}")
+    private long initialDelayMs;
+
+    @Value("${third-party.dict.retry.multiplier:2.0}")
+    private double multiplier;
+
+    @Value("${third-party.dict.retry.max-delay-ms:5000}")
+    private long maxDelayMs;
+
+    @Value("${third-party.dict.retry.max-total-ms:8000}")
+    private long maxTotalMs;
+
+    @Value("${execution.virtual-threads.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public AsyncRetryExecutor dictRetryExecutor(MeterRegistry meterRegistry) {
+        ExecutorService ioExecutor;
+        if (VirtualThreads.isEnabled(virtualThreads, "dict-io")) {
+            ioExecutor = VirtualThreads.newThreadPerTaskExecutor("dict-io-vt-");
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(ioThreads, ioThreads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("dict-io-"));
+            pool.allowCoreThreadTimeOut(true);
+            ioExecutor = pool;
+        }
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("dict-retry-timer-"));
+        RetryPolicy policy = new RetryPolicy(maxAttempts, initialDelayMs, multiplier, maxDelayMs, maxTotalMs);
+        return new AsyncRetryExecutor("dict_query", policy, ioExecutor, timer, meterRegistry);
+    }
+}
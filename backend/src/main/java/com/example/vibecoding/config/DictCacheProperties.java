@@ -0,0 +1,52 @@
+package com.example.vibecoding.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 字典查询结果缓存配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "third-party.dict.cache")
+public class DictCacheProperties {
+
+    /**
+     * 是否启用缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 默认新鲜期，超过后条目变为过期（stale）
+     */
+    private Duration defaultTtl = Duration.ofMinutes(5);
+
+    /**
+     * 按 dictType 单独配置的新鲜期
+     */
+    private Map<String, Duration> ttl = new HashMap<>();
+
+    /**
+     * 过期后仍可返回旧值的时间窗口，期间由后台刷新
+     */
+    private Duration staleWindow = Duration.ofMinutes(10);
+
+    /**
+     * 最近一次成功结果的保留时间，熔断打开时用作兜底
+     */
+    private Duration lastKnownGoodTtl = Duration.ofHours(24);
+
+    /**
+     * 缓存总权重上限，单个条目权重 = 1 + 字典条目数
+     */
+    private long maxWeight = 100_000;
+
+    public Duration ttlOf(String dictType) {
+        return ttl.getOrDefault(dictType, defaultTtl);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.vibecoding.config;
+
+import com.example.vibecoding.common.BusinessException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+
+/**
+ * 第三方调用熔断配置
+ * 只有服务端错误与网络错误（RestClientException）计为失败；限流等业务异常不计入统计
+ */
+@Configuration
+public class DictCircuitBreakerConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DictCircuitBreakerConfig.class);
+
+    @Value("${third-party.dict.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${third-party.dict.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${third-party.dict.circuit-breaker.slow-call-duration-ms:3000}")
+    private long slowCallDurationMs;
+
+    @Value("${third-party.dict.circuit-breaker.sliding-window-type:COUNT_BASED}")
+    private CircuitBreakerConfig.SlidingWindowType slidingWindowType;
+
+    @Value("${third-party.dict.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${third-party.dict.circuit-breaker.minimum-number-of-calls:10}")
+    private int minimumNumberOfCalls;
+
+    @Value("${third-party.dict.circuit-breaker.wait-duration-in-open-ms:30000}")
+    private long waitDurationInOpenMs;
+
+    @Value("${third-party.dict.circuit-breaker.permitted-calls-in-half-open:3}")
+    private int permittedCallsInHalfOpen;
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slidingWindow(slidingWindowSize, minimumNumberOfCalls, slidingWindowType)
+                .waitDurationInOpenState(Duration.ofMillis(waitDurationInOpenMs))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpen)
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .recordException(e -> e instanceof RestClientException)
+                .ignoreExceptions(BusinessException.class)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+
+        // 状态变化事件：记录日志并计数
+        registry.getEventPublisher().onEntryAdded(added -> added.getAddedEntry().getEventPublisher()
+                .onStateTransition(event -> {
+                    logger.warn("Circuit breaker {} state transition: {}",
+                            event.getCircuitBreakerName(), event.getStateTransition());
+                    Counter.builder("circuitbreaker.transitions")
+                            .description("熔断器状态变化次数")
+                            .tag("name", event.getCircuitBreakerName())
+                            .tag("from", event.getStateTransition().getFromState().name())
+                            .tag("to", event.getStateTransition().getToState().name())
+                            .register(meterRegistry)
+                            .increment();
+                }));
+        // 状态、失败率、慢调用率、调用次数等指标
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+}
@@ -1,12 +1,23 @@
 package com.example.vibecoding.config;
 
+import com.example.vibecoding.tracing.Tracer;
+import com.example.vibecoding.tracing.TracingClientHttpRequestInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class RestTemplateConfig {
 
@@ -16,15 +27,70 @@ public class RestTemplateConfig {
     @Value("${third-party.dict.timeout.read:10000}")
     private int readTimeout;
 
+    @Value("${third-party.dict.pool.max-total:200}")
+    private int maxTotal;
+
+    @Value("${third-party.dict.pool.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${third-party.dict.pool.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${third-party.dict.pool.idle-evict-ms:10000}")
+    private long idleEvictMs;
+
+    @Value("${third-party.dict.pool.validate-after-inactivity-ms:2000}")
+    private int validateAfterInactivityMs;
+
+    @Value("${third-party.dict.pool.connection-request-timeout:1000}")
+    private int connectionRequestTimeout;
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient dictHttpClient, Tracer tracer) {
+        RestTemplate restTemplate = new RestTemplate(clientHttpRequestFactory(dictHttpClient));
+        // 出站请求 span 与链路请求头
+        restTemplate.getInterceptors().add(new TracingClientHttpRequestInterceptor(tracer));
+        return restTemplate;
+    }
+
+    /**
+     * 第三方字典服务连接池
+     * keep-alive-ms 为连接最大存活时间（同时作为服务端未声明 Keep-Alive 时的默认保活时长）
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate(clientHttpRequestFactory());
+    public PoolingHttpClientConnectionManager dictConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(keepAliveMs, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMs);
+        // 导出 leased / pending / available / max 连接池指标
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "third-party-dict")
+                .bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient dictHttpClient(PoolingHttpClientConnectionManager dictConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(dictConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    // 优先使用服务端返回的 Keep-Alive: timeout，但不超过配置的保活时长
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMs) : keepAliveMs;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEvictMs, TimeUnit.MILLISECONDS)
+                .build();
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(connectTimeout);
-        factory.setReadTimeout(readTimeout);
-        return factory;
+    private ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
     }
-}
\ No newline at end of file
+}
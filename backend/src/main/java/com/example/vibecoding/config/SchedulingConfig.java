@@ -0,0 +1,12 @@
+package com.example.vibecoding.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 开启定时任务（调用日志分区维护、分钟级汇总，均默认关闭）
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,79 @@
+package com.example.vibecoding.config;
+
+import com.example.vibecoding.tracing.ExporterType;
+import com.example.vibecoding.tracing.FileSpanExporter;
+import com.example.vibecoding.tracing.InMemorySpanExporter;
+import com.example.vibecoding.tracing.LoggingSpanExporter;
+import com.example.vibecoding.tracing.Sampler;
+import com.example.vibecoding.tracing.SpanExporter;
+import com.example.vibecoding.tracing.Tracer;
+import com.example.vibecoding.tracing.TracingFilter;
+import com.example.vibecoding.tracing.TracingMyBatisInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * 进程内链路追踪：入站请求、重试尝试、出站 HTTP 与 SQL 的 span，按 tracing.sample-rate 采样后交给导出器
+ */
+@Configuration
+public class TracingConfig {
+
+    @Value("${tracing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${tracing.exporter:LOG}")
+    private ExporterType exporterType;
+
+    @Value("${tracing.file:logs/spans.jsonl}")
+    private String file;
+
+    @Value("${tracing.memory-capacity:10000}")
+    private int memoryCapacity;
+
+    @Value("${tracing.trust-upstream-sampled:false}")
+    private boolean trustUpstreamSampled;
+
+    @Bean
+    @ConditionalOnMissingBean(SpanExporter.class)
+    public SpanExporter spanExporter(ObjectMapper objectMapper) throws IOException {
+        switch (exporterType) {
+            case FILE:
+                return new FileSpanExporter(objectMapper, Paths.get(file));
+            case MEMORY:
+                return new InMemorySpanExporter(memoryCapacity);
+            case NONE:
+                return span -> {
+                };
+            case LOG:
+            default:
+                return new LoggingSpanExporter(objectMapper);
+        }
+    }
+
+    @Bean
+    public Tracer tracer(SpanExporter spanExporter) {
+        return new Tracer(Sampler.ratio(sampleRate), spanExporter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        TracingFilter filter = new TracingFilter(tracer, trustUpstreamSampled);
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public TracingMyBatisInterceptor tracingMyBatisInterceptor(Tracer tracer) {
+        return new TracingMyBatisInterceptor(tracer);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.vibecoding.config;
+
+import com.example.vibecoding.util.VirtualThreads;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程执行模式（需 Java 21+）：Tomcat 每个请求在独立的虚拟线程上处理，阻塞在 JDBC/第三方调用时不占用平台线程
+ * 第三方调用的 dict-io 执行器与调用日志写线程由各自配置读取同一开关；运行时不支持时全部回退到平台线程
+ */
+@Configuration
+@ConditionalOnClass(ProtocolHandler.class)
+@ConditionalOnProperty(prefix = "execution.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private ExecutorService requestExecutor;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (!VirtualThreads.isEnabled(true, "tomcat")) {
+                return;
+            }
+            requestExecutor = VirtualThreads.newThreadPerTaskExecutor("http-vt-");
+            protocolHandler.setExecutor(requestExecutor);
+            logger.info("Tomcat requests are handled on virtual threads");
+        };
+    }
+
+    /**
+     * Tomcat 不会关闭外部传入的执行器
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.vibecoding.controller;
+
+import com.example.vibecoding.common.ApiResponse;
+import com.example.vibecoding.model.request.CallLogQueryRequest;
+import com.example.vibecoding.model.vo.CallLogVO;
+import com.example.vibecoding.model.vo.CursorPageVO;
+import com.example.vibecoding.service.ExternalCallLogQueryService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 第三方调用日志查询
+ */
+@RestController
+@RequestMapping("/api/call-logs")
+public class CallLogController {
+
+    private final ExternalCallLogQueryService externalCallLogQueryService;
+
+    public CallLogController(ExternalCallLogQueryService externalCallLogQueryService) {
+        this.externalCallLogQueryService = externalCallLogQueryService;
+    }
+
+    /**
+     * 按时间范围查询调用日志（from/to 必填，格式 yyyy-MM-dd HH:mm:ss），可按 traceId、service、success 过滤
+     * 按创建时间倒序游标分页，翻页使用上一页返回的 nextCursor
+     */
+    @GetMapping
+    public ApiResponse<CursorPageVO<CallLogVO>> queryCallLogs(CallLogQueryRequest request) {
+        return ApiResponse.success(externalCallLogQueryService.queryCallLogs(request));
+    }
+
+    /**
+     * 查询一次调用链路的全部尝试，按 attempt 排序
+     */
+    @GetMapping("/trace/{traceId}")
+    public ApiResponse<List<CallLogVO>> getTrace(@PathVariable String traceId) {
+        return ApiResponse.success(externalCallLogQueryService.getTrace(traceId));
+    }
+}
@@ -2,7 +2,8 @@ package com.example.vibecoding.controller;
 
 import com.example.vibecoding.common.ApiResponse;
 import com.example.vibecoding.service.DictService;
-import org.apache.commons.lang3.StringUtils;
+import com.example.vibecoding.service.RequestContext;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,8 +13,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Map;
-import java.util.UUID;
-import org.slf4j.MDC;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/dict")
@@ -25,8 +25,18 @@ public class DictController {
     @Autowired
     private DictService dictService;
 
+    private final RequestContext requestContext = new RequestContext();
+
+    /**
+     * 调用方超时时间（毫秒），第三方调用的重试不会超过该时间
+     */
+    private static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    /**
+     * 查询字典（异步完成，等待第三方响应与重试退避期间不占用Servlet线程）
+     */
     @GetMapping("/query")
-    public ApiResponse<Map<String, Object>> queryDict(
+    public CompletableFuture<ApiResponse<Map<String, Object>>> queryDict(
             @RequestParam Long pageNum,
             @RequestParam Long pageSize,
             @RequestParam String dictType,
@@ -42,24 +52,23 @@ public class DictController {
         Assert.hasText(dictType, "dictType cannot be empty");
         Assert.isTrue(dictType.length() <= 50, "dictType length must be less than or equal to 50");
         
-        // 获取或生成traceId
-        String traceId = request.getHeader("X-Trace-Id");
-        if (StringUtils.isBlank(traceId)) {
-            traceId = UUID.randomUUID().toString().replace("-", "");
-        }
-        
-        // 将traceId放入MDC
-        MDC.put("traceId", traceId);
+        // traceId 由 TracingFilter 读取或生成并绑定到请求上下文（含MDC），异步重试的每次尝试都会恢复该上下文
+        String traceId = requestContext.getTraceId();
+        long timeoutMs = NumberUtils.toLong(request.getHeader(REQUEST_TIMEOUT_HEADER), 0L);
+
+        logger.info("Dict query request received, pageNum: {}, pageSize: {}, dictType: {}, traceId: {}", 
+                pageNum, pageSize, dictType, traceId);
         
-        try {
-            logger.info("Dict query request received, pageNum: {}, pageSize: {}, dictType: {}, traceId: {}", 
-                    pageNum, pageSize, dictType, traceId);
-            
-            Map<String, Object> result = dictService.queryDict(pageNum, pageSize, dictType, traceId);
-            return ApiResponse.success(result);
-        } finally {
-            // 清除MDC中的traceId
-            MDC.remove("traceId");
-        }
+        return dictService.queryDict(pageNum, pageSize, dictType, traceId, timeoutMs)
+                .thenApply(ApiResponse::success);
+    }
+
+    /**
+     * 失效指定字典类型的本地缓存（管理接口）
+     */
+    @DeleteMapping("/cache/{dictType}")
+    public ApiResponse<Integer> invalidateCache(@PathVariable String dictType) {
+        int removed = dictService.invalidateCache(dictType);
+        return ApiResponse.success(removed);
     }
-}
\ No newline at end of file
+}
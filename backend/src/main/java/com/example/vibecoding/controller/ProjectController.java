@@ -2,22 +2,46 @@ package com.example.vibecoding.controller;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.example.vibecoding.common.ApiResponse;
+import com.example.vibecoding.model.enums.CountMode;
+import com.example.vibecoding.model.enums.ExportFormat;
+import com.example.vibecoding.model.request.ProjectBatchCreateRequest;
+import com.example.vibecoding.model.request.ProjectBatchUpdateRequest;
 import com.example.vibecoding.model.request.ProjectCreateRequest;
 import com.example.vibecoding.model.request.ProjectUpdateRequest;
+import com.example.vibecoding.model.vo.BatchResultVO;
+import com.example.vibecoding.model.vo.CursorPageVO;
 import com.example.vibecoding.model.vo.ProjectVO;
+import com.example.vibecoding.resilience.ProjectExportBulkhead;
 import com.example.vibecoding.service.ProjectService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.OutputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/projects")
 @Validated
 public class ProjectController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
+
     private final ProjectService projectService;
+    private final ProjectExportBulkhead projectExportBulkhead;
+    private final long exportTimeoutMs;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService,
+                             ProjectExportBulkhead projectExportBulkhead,
+                             @Value("${project.export.timeout-ms:1800000}") long exportTimeoutMs) {
         this.projectService = projectService;
+        this.projectExportBulkhead = projectExportBulkhead;
+        this.exportTimeoutMs = exportTimeoutMs;
     }
 
     /**
@@ -40,13 +64,51 @@ public class ProjectController {
 
     /**
      * 分页查询项目列表
+     * countMode：exact（默认，精确总数）/ none（不统计总数，仅返回 hasNext）/ estimate（短时缓存的总数）
      */
     @GetMapping
     public ApiResponse<IPage<ProjectVO>> getProjectList(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String keyword) {
-        IPage<ProjectVO> projectPage = projectService.getProjectList(page, size, keyword);
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "exact") String countMode) {
+        IPage<ProjectVO> projectPage = projectService.getProjectList(page, size, keyword, CountMode.fromValue(countMode));
+        return ApiResponse.success(projectPage);
+    }
+
+    /**
+     * 流式导出项目（format=ndjson|csv），与列表接口相同的关键字过滤，不受分页大小限制
+     * 数据逐行从数据库流式读取并写出，内存占用与表大小无关；在独立的导出线程池上执行，并发导出数受 max-concurrent 限制
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportProjects(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String keyword,
+            HttpServletResponse response) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        WebAsyncTask<Void> task = projectExportBulkhead.submit(exportTimeoutMs, () -> {
+            OutputStream out = response.getOutputStream();
+            long rows = projectService.exportProjects(keyword, exportFormat, out);
+            out.flush();
+            logger.info("Projects exported, format: {}, keyword: {}, rows: {}", exportFormat, keyword, rows);
+            return null;
+        });
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=projects." + exportFormat.getExtension());
+        return task;
+    }
+
+    /**
+     * 游标分页查询项目列表（mode=cursor）
+     * 不执行COUNT，翻页使用上一页返回的 nextCursor，深翻页与首页耗时一致
+     */
+    @GetMapping(params = "mode=cursor")
+    public ApiResponse<CursorPageVO<ProjectVO>> getProjectListByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageVO<ProjectVO> projectPage = projectService.getProjectListByCursor(cursor, size, keyword, withTotal);
         return ApiResponse.success(projectPage);
     }
 
@@ -72,4 +134,31 @@ public class ProjectController {
         projectService.deleteProject(id);
         return ApiResponse.success();
     }
-}
\ No newline at end of file
+
+    /**
+     * 批量创建项目
+     * 条目逐个校验并按下标返回结果；atomic=true 时任一条目失败则全部不生效
+     */
+    @PostMapping("/batch")
+    public ApiResponse<BatchResultVO> createProjects(@Validated @RequestBody ProjectBatchCreateRequest request) {
+        return ApiResponse.success(projectService.createProjects(request.getItems(), request.isAtomic()));
+    }
+
+    /**
+     * 批量更新项目
+     */
+    @PutMapping("/batch")
+    public ApiResponse<BatchResultVO> updateProjects(@Validated @RequestBody ProjectBatchUpdateRequest request) {
+        return ApiResponse.success(projectService.updateProjects(request.getItems(), request.isAtomic()));
+    }
+
+    /**
+     * 批量删除项目（逻辑删除）
+     */
+    @DeleteMapping("/batch")
+    public ApiResponse<BatchResultVO> deleteProjects(
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean atomic) {
+        return ApiResponse.success(projectService.deleteProjects(ids, atomic));
+    }
+}
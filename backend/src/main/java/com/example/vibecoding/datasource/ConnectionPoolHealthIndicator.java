@@ -0,0 +1,57 @@
+package com.example.vibecoding.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 连接池健康检查：输出每个池的活跃/空闲/等待数
+ * 任一连接池已关闭，或连接全部占用且仍有线程在等待（池耗尽）时为 DOWN
+ */
+public class ConnectionPoolHealthIndicator extends AbstractHealthIndicator {
+
+    private final List<HikariDataSource> pools;
+
+    public ConnectionPoolHealthIndicator(List<HikariDataSource> pools) {
+        super("Connection pool health check failed");
+        this.pools = pools;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        boolean healthy = true;
+        for (HikariDataSource pool : pools) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("max", pool.getMaximumPoolSize());
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (pool.isClosed()) {
+                details.put("state", "closed");
+                healthy = false;
+            } else if (mxBean == null) {
+                // 懒加载：尚未取过连接
+                details.put("state", "not-started");
+            } else {
+                int active = mxBean.getActiveConnections();
+                int pending = mxBean.getThreadsAwaitingConnection();
+                boolean exhausted = pending > 0 && active >= pool.getMaximumPoolSize();
+                details.put("state", exhausted ? "exhausted" : "running");
+                details.put("active", active);
+                details.put("idle", mxBean.getIdleConnections());
+                details.put("total", mxBean.getTotalConnections());
+                details.put("pending", pending);
+                healthy &= !exhausted;
+            }
+            builder.withDetail(pool.getPoolName(), details);
+        }
+        if (healthy) {
+            builder.up();
+        } else {
+            builder.down();
+        }
+    }
+}
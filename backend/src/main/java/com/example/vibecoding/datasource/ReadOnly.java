@@ -0,0 +1,17 @@
+package com.example.vibecoding.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记只读方法：开启读写分离时，方法内的查询路由到从库
+ * 同一请求内已发生过写操作时仍走主库，保证读到自己刚写入的数据
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnly {
+}
@@ -0,0 +1,27 @@
+package com.example.vibecoding.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 进入 {@link ReadOnly} 方法时打开只读标记，退出时恢复
+ * 优先级高于事务切面，保证事务开始取连接时路由状态已就绪
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadOnlyRoutingAspect {
+
+    @Around("@annotation(com.example.vibecoding.datasource.ReadOnly) "
+            + "|| @within(com.example.vibecoding.datasource.ReadOnly)")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        RoutingContext.enterReadOnly();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RoutingContext.exitReadOnly();
+        }
+    }
+}
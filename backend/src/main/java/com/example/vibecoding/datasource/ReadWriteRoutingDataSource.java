@@ -0,0 +1,87 @@
+package com.example.vibecoding.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离数据源：默认走主库，{@link RoutingContext#isReplicaAllowed()} 为真时按策略选择一个从库
+ * 路由在获取连接时决定，事务内沿用事务开始时拿到的连接
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    private static final String REPLICA_PREFIX = "replica-";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReplicaSelectionStrategy strategy;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaSelectionStrategy strategy) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.strategy = strategy;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(REPLICA_PREFIX + i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !RoutingContext.isReplicaAllowed()) {
+            return PRIMARY;
+        }
+        return REPLICA_PREFIX + selectReplica();
+    }
+
+    private int selectReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(counter.getAndIncrement(), size);
+        if (strategy != ReplicaSelectionStrategy.LEAST_CONNECTIONS || size == 1) {
+            return start;
+        }
+        // 从轮询位置开始比较，活跃连接数相同时仍按轮询分摊
+        int selected = start;
+        int minActive = Integer.MAX_VALUE;
+        for (int offset = 0; offset < size; offset++) {
+            int index = (start + offset) % size;
+            int active = activeConnections(replicas.get(index));
+            if (active < minActive) {
+                minActive = active;
+                selected = index;
+            }
+        }
+        return selected;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource) {
+            HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+            // 连接池在首次取连接时才启动
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+}
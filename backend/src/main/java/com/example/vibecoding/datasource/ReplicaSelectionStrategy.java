@@ -0,0 +1,17 @@
+package com.example.vibecoding.datasource;
+
+/**
+ * 从库选择策略
+ */
+public enum ReplicaSelectionStrategy {
+
+    /**
+     * 轮询
+     */
+    ROUND_ROBIN,
+
+    /**
+     * 选择当前活跃连接数最少的从库（需要 Hikari 连接池，否则退化为轮询）
+     */
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,58 @@
+package com.example.vibecoding.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 当前线程的读写路由状态
+ * 只读标记由 {@link ReadOnlyRoutingAspect} 按方法进出维护（支持嵌套），
+ * 写标记由 {@link WriteTrackingInterceptor} 在执行写SQL时设置，并保持到请求结束时 {@link #clear()}
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private RoutingContext() {
+    }
+
+    public static void enterReadOnly() {
+        STATE.get().readOnlyDepth++;
+    }
+
+    public static void exitReadOnly() {
+        State state = STATE.get();
+        if (--state.readOnlyDepth <= 0 && !state.written) {
+            STATE.remove();
+        }
+    }
+
+    /**
+     * 记录本请求已写过主库，之后的读请求都粘滞在主库
+     */
+    public static void markWritten() {
+        STATE.get().written = true;
+    }
+
+    /**
+     * 当前连接是否可以使用从库：处于只读方法中、本请求未写过主库、且不在读写事务内
+     */
+    public static boolean isReplicaAllowed() {
+        State state = STATE.get();
+        if (state.readOnlyDepth <= 0 || state.written) {
+            return false;
+        }
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * 清除当前线程的路由状态，请求结束时调用
+     */
+    public static void clear() {
+        STATE.remove();
+    }
+
+    private static final class State {
+        int readOnlyDepth;
+        boolean written;
+    }
+}
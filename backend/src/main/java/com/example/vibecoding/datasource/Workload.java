@@ -0,0 +1,43 @@
+package com.example.vibecoding.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 数据库负载类型，不同负载使用独立的连接池，避免调用日志批量写入挤占项目接口的连接
+ */
+public enum Workload {
+
+    /**
+     * 在线业务（项目接口），默认
+     */
+    OLTP,
+
+    /**
+     * 第三方调用日志的后台批量写入
+     */
+    CALL_LOG;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload == null ? OLTP : workload;
+    }
+
+    /**
+     * 以当前负载类型执行数据库操作，结束后恢复之前的负载类型
+     */
+    public <T> T call(Supplier<T> action) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
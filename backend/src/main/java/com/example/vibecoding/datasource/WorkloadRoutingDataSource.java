@@ -0,0 +1,62 @@
+package com.example.vibecoding.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按 {@link Workload} 选择连接池的数据源，OLTP 目标可以再是一个 {@link ReadWriteRoutingDataSource}
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<Workload, DataSource> targets;
+
+    public WorkloadRoutingDataSource(DataSource oltp, DataSource callLog) {
+        this.targets = new EnumMap<>(Workload.class);
+        this.targets.put(Workload.OLTP, oltp);
+        this.targets.put(Workload.CALL_LOG, callLog);
+        setTargetDataSources(new HashMap<>(targets));
+        setDefaultTargetDataSource(oltp);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Workload.current();
+    }
+
+    public DataSource getTarget(Workload workload) {
+        return targets.get(workload);
+    }
+
+    /**
+     * 展开全部 Hikari 连接池（含读写分离的主从库），用于指标与健康检查
+     */
+    public List<HikariDataSource> getHikariPools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        targets.values().forEach(target -> collectPools(target, pools));
+        return pools;
+    }
+
+    private static void collectPools(DataSource dataSource, List<HikariDataSource> pools) {
+        if (dataSource instanceof HikariDataSource) {
+            pools.add((HikariDataSource) dataSource);
+        } else if (dataSource instanceof ReadWriteRoutingDataSource) {
+            ReadWriteRoutingDataSource routing = (ReadWriteRoutingDataSource) dataSource;
+            collectPools(routing.getPrimary(), pools);
+            routing.getReplicas().forEach(replica -> collectPools(replica, pools));
+        }
+    }
+
+    @Override
+    public void close() {
+        getHikariPools().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.vibecoding.job;
+
+import com.example.vibecoding.datasource.Workload;
+import com.example.vibecoding.mapper.ExternalCallLogPartitionMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * external_call_log 分区维护：提前创建未来几天的分区，删除超过保留期的分区
+ * 启动完成时执行一次，之后按 cron 每天执行；DROP PARTITION 只删元数据和文件，不会逐行删除
+ */
+@Component
+@ConditionalOnProperty(prefix = "external-call-log.partition", name = "enabled", havingValue = "true")
+public class CallLogPartitionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CallLogPartitionJob.class);
+
+    private final ExternalCallLogPartitionMapper partitionMapper;
+    private final int retentionDays;
+    private final int preCreateDays;
+    private final Clock clock;
+
+    public CallLogPartitionJob(ExternalCallLogPartitionMapper partitionMapper,
+                               @Value("${external-call-log.partition.retention-days:30}") int retentionDays,
+                               @Value("${external-call-log.partition.pre-create-days:7}") int preCreateDays) {
+        this(partitionMapper, retentionDays, preCreateDays, Clock.systemDefaultZone());
+    }
+
+    CallLogPartitionJob(ExternalCallLogPartitionMapper partitionMapper, int retentionDays, int preCreateDays,
+                        Clock clock) {
+        this.partitionMapper = partitionMapper;
+        this.retentionDays = retentionDays;
+        this.preCreateDays = preCreateDays;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${external-call-log.partition.cron:0 5 0 * * *}")
+    public void maintain() {
+        try {
+            Workload.CALL_LOG.call(() -> {
+                maintainPartitions();
+                return null;
+            });
+        } catch (Exception e) {
+            logger.error("Failed to maintain external_call_log partitions", e);
+        }
+    }
+
+    private void maintainPartitions() {
+        List<String> existing = partitionMapper.selectPartitionNames();
+        if (!existing.contains(CallLogPartitionPlanner.FUTURE_PARTITION)) {
+            logger.warn("external_call_log has no {} partition, skip partition maintenance (see db.sql)",
+                    CallLogPartitionPlanner.FUTURE_PARTITION);
+            return;
+        }
+        CallLogPartitionPlanner.Plan plan = CallLogPartitionPlanner.plan(existing, LocalDate.now(clock),
+                retentionDays, preCreateDays);
+        if (!plan.getToCreate().isEmpty()) {
+            partitionMapper.reorganizeFuturePartition(plan.createDefinitions());
+            logger.info("Created external_call_log partitions for {}", plan.getToCreate());
+        }
+        if (!plan.getToDrop().isEmpty()) {
+            partitionMapper.dropPartitions(plan.dropNames());
+            logger.info("Dropped expired external_call_log partitions for {}", plan.getToDrop());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.vibecoding.job;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 计算 external_call_log 按天分区的增删计划
+ * 分区 pYYYYMMDD 存放 created_at 小于次日零点的数据；p_history、p_future 等非按天命名的分区不受管理
+ */
+final class CallLogPartitionPlanner {
+
+    static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter NAME_FORMATTER = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    private CallLogPartitionPlanner() {
+    }
+
+    /**
+     * @param existing      当前分区名（按分区顺序）
+     * @param today         当前日期
+     * @param retentionDays 保留天数，整个分区都早于 today - retentionDays 时删除
+     * @param preCreateDays 提前创建的天数
+     */
+    static Plan plan(List<String> existing, LocalDate today, int retentionDays, int preCreateDays) {
+        List<LocalDate> days = existing.stream()
+                .map(CallLogPartitionPlanner::parseDay)
+                .filter(Objects::nonNull)
+                .sorted()
+                .collect(Collectors.toList());
+
+        // 新分区只能追加在最后一个按天分区之后；中间漏掉的日期由第一个新分区覆盖
+        LocalDate start = today;
+        if (!days.isEmpty() && !days.get(days.size() - 1).isBefore(today)) {
+            start = days.get(days.size() - 1).plusDays(1);
+        }
+        List<LocalDate> toCreate = new ArrayList<>();
+        for (LocalDate day = start; !day.isAfter(today.plusDays(preCreateDays)); day = day.plusDays(1)) {
+            toCreate.add(day);
+        }
+
+        LocalDate oldestKept = today.minusDays(retentionDays);
+        List<LocalDate> toDrop = days.stream()
+                .filter(day -> day.isBefore(oldestKept))
+                .collect(Collectors.toList());
+        return new Plan(toCreate, toDrop);
+    }
+
+    static String partitionName(LocalDate day) {
+        return NAME_FORMATTER.format(day);
+    }
+
+    private static LocalDate parseDay(String partitionName) {
+        try {
+            return LocalDate.parse(partitionName, NAME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    static final class Plan {
+
+        private final List<LocalDate> toCreate;
+        private final List<LocalDate> toDrop;
+
+        Plan(List<LocalDate> toCreate, List<LocalDate> toDrop) {
+            this.toCreate = Collections.unmodifiableList(toCreate);
+            this.toDrop = Collections.unmodifiableList(toDrop);
+        }
+
+        List<LocalDate> getToCreate() {
+            return toCreate;
+        }
+
+        List<LocalDate> getToDrop() {
+            return toDrop;
+        }
+
+        /**
+         * REORGANIZE PARTITION p_future INTO (...) 的分区定义，最后保留 p_future 兜底
+         */
+        String createDefinitions() {
+            StringBuilder definitions = new StringBuilder();
+            for (LocalDate day : toCreate) {
+                definitions.append("PARTITION ").append(partitionName(day))
+                        .append(" VALUES LESS THAN (TO_DAYS('").append(day.plusDays(1)).append("')), ");
+            }
+            return definitions.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN MAXVALUE")
+                    .toString();
+        }
+
+        String dropNames() {
+            return toDrop.stream().map(CallLogPartitionPlanner::partitionName).collect(Collectors.joining(","));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.vibecoding.job;
+
+import com.example.vibecoding.datasource.Workload;
+import com.example.vibecoding.mapper.ExternalCallLogMinuteMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 调用日志分钟级汇总：定时把已结束的分钟聚合到 external_call_log_minute
+ * 只处理 lateness 之前的分钟，留出异步写入的延迟；汇总为覆盖写，多实例同时执行也不会重复计数
+ */
+@Component
+@ConditionalOnProperty(prefix = "external-call-log.rollup", name = "enabled", havingValue = "true")
+public class CallLogRollupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CallLogRollupJob.class);
+
+    private final ExternalCallLogMinuteMapper minuteMapper;
+    private final Duration lateness;
+    private final Duration initialLookback;
+    private final Duration maxWindow;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 下一次待汇总的起点，首次执行时从汇总表恢复
+     */
+    private Instant watermark;
+
+    public CallLogRollupJob(ExternalCallLogMinuteMapper minuteMapper,
+                            @Value("${external-call-log.rollup.lateness-ms:120000}") long latenessMs,
+                            @Value("${external-call-log.rollup.initial-lookback-minutes:1440}") long initialLookbackMinutes,
+                            @Value("${external-call-log.rollup.max-window-minutes:60}") long maxWindowMinutes) {
+        this(minuteMapper, Duration.ofMillis(latenessMs), Duration.ofMinutes(initialLookbackMinutes),
+                Duration.ofMinutes(maxWindowMinutes), Clock.systemDefaultZone());
+    }
+
+    CallLogRollupJob(ExternalCallLogMinuteMapper minuteMapper, Duration lateness, Duration initialLookback,
+                     Duration maxWindow, Clock clock) {
+        this.minuteMapper = minuteMapper;
+        this.lateness = lateness;
+        this.initialLookback = initialLookback;
+        this.maxWindow = maxWindow;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${external-call-log.rollup.interval-ms:60000}",
+            initialDelayString = "${external-call-log.rollup.interval-ms:60000}")
+    public void rollup() {
+        try {
+            Workload.CALL_LOG.call(() -> {
+                rollupClosedMinutes();
+                return null;
+            });
+        } catch (Exception e) {
+            // 下次执行从同一水位重试
+            logger.error("Failed to roll up external call logs", e);
+        }
+    }
+
+    void rollupClosedMinutes() {
+        // 用 ReentrantLock 而不是 synchronized：持锁期间执行 SQL，虚拟线程上 synchronized 会钉住载体线程
+        lock.lock();
+        try {
+            rollupClosedMinutesLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rollupClosedMinutesLocked() {
+        Instant to = clock.instant().minus(lateness).truncatedTo(ChronoUnit.MINUTES);
+        if (watermark == null) {
+            Date latest = minuteMapper.selectLatestBucket();
+            watermark = latest == null
+                    ? to.minus(initialLookback)
+                    : latest.toInstant().plus(1, ChronoUnit.MINUTES);
+        }
+        // 每次最多聚合 maxWindow，积压较多时分批追赶，避免单条大查询
+        while (watermark.isBefore(to)) {
+            Instant end = watermark.plus(maxWindow);
+            if (end.isAfter(to)) {
+                end = to;
+            }
+            int rows = minuteMapper.rollup(Date.from(watermark), Date.from(end));
+            logger.debug("Rolled up external call logs [{}, {}): {} rows", watermark, end, rows);
+            watermark = end;
+        }
+    }
+}
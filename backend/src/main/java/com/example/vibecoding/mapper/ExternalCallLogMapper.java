@@ -2,8 +2,26 @@ package com.example.vibecoding.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.vibecoding.model.entity.ExternalCallLog;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface ExternalCallLogMapper extends BaseMapper<ExternalCallLog> {
-}
\ No newline at end of file
+
+    /**
+     * 多行批量插入调用日志（单条 INSERT ... VALUES (...), (...)）
+     */
+    @Insert({"<script>",
+            "INSERT INTO external_call_log (trace_id, request_id, service, target_url, http_method, query_string,",
+            "http_status, success, attempt, duration_ms, exception_type, exception_message, created_at) VALUES",
+            "<foreach collection='list' item='item' separator=','>",
+            "(#{item.traceId}, #{item.requestId}, #{item.service}, #{item.targetUrl}, #{item.httpMethod},",
+            "#{item.queryString}, #{item.httpStatus}, #{item.success}, #{item.attempt}, #{item.durationMs},",
+            "#{item.exceptionType}, #{item.exceptionMessage}, #{item.createdAt})",
+            "</foreach>",
+            "</script>"})
+    int insertBatch(@Param("list") List<ExternalCallLog> logs);
+}
@@ -0,0 +1,52 @@
+package com.example.vibecoding.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.vibecoding.model.entity.ExternalCallLogMinute;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Date;
+
+@Mapper
+public interface ExternalCallLogMinuteMapper extends BaseMapper<ExternalCallLogMinute> {
+
+    /**
+     * 将 [from, to) 内的明细按 (service, 分钟) 聚合写入汇总表，已存在的分钟整体覆盖，可重复执行
+     * 分位数用窗口函数（MySQL 8）按耗时排序后取第 ceil(N*p) 条
+     * 只统计实际发往第三方的尝试：合并请求的跟随记录（attempt=0）耗时是等待领导者的时间，不计入
+     */
+    @Insert({"INSERT INTO external_call_log_minute (service, bucket_start, total_count, success_count, retry_count,",
+            "avg_duration_ms, max_duration_ms, p50_duration_ms, p95_duration_ms, p99_duration_ms, updated_at)",
+            "SELECT service, bucket_start, COUNT(*), SUM(success), SUM(attempt > 1),",
+            "ROUND(AVG(duration_ms)), MAX(duration_ms),",
+            "MIN(CASE WHEN rn >= CEIL(cnt * 0.50) THEN duration_ms END),",
+            "MIN(CASE WHEN rn >= CEIL(cnt * 0.95) THEN duration_ms END),",
+            "MIN(CASE WHEN rn >= CEIL(cnt * 0.99) THEN duration_ms END),",
+            "NOW()",
+            "FROM (",
+            "  SELECT service, success, attempt, duration_ms, bucket_start,",
+            "  ROW_NUMBER() OVER (PARTITION BY service, bucket_start ORDER BY duration_ms) AS rn,",
+            "  COUNT(*) OVER (PARTITION BY service, bucket_start) AS cnt",
+            "  FROM (",
+            "    SELECT service, success, attempt, duration_ms,",
+            "    DATE_FORMAT(created_at, '%Y-%m-%d %H:%i:00') AS bucket_start",
+            "    FROM external_call_log",
+            "    WHERE created_at >= #{from} AND created_at < #{to} AND attempt > 0",
+            "  ) raw",
+            ") ranked",
+            "GROUP BY service, bucket_start",
+            "ON DUPLICATE KEY UPDATE total_count = VALUES(total_count), success_count = VALUES(success_count),",
+            "retry_count = VALUES(retry_count), avg_duration_ms = VALUES(avg_duration_ms),",
+            "max_duration_ms = VALUES(max_duration_ms), p50_duration_ms = VALUES(p50_duration_ms),",
+            "p95_duration_ms = VALUES(p95_duration_ms), p99_duration_ms = VALUES(p99_duration_ms),",
+            "updated_at = VALUES(updated_at)"})
+    int rollup(@Param("from") Date from, @Param("to") Date to);
+
+    /**
+     * 已汇总的最新分钟
+     */
+    @Select("SELECT MAX(bucket_start) FROM external_call_log_minute")
+    Date selectLatestBucket();
+}
@@ -0,0 +1,29 @@
+package com.example.vibecoding.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * external_call_log 分区维护（DDL 由 CallLogPartitionPlanner 生成，不含外部输入）
+ */
+@Mapper
+public interface ExternalCallLogPartitionMapper {
+
+    @Select("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'external_call_log' AND PARTITION_NAME IS NOT NULL "
+            + "ORDER BY PARTITION_ORDINAL_POSITION")
+    List<String> selectPartitionNames();
+
+    /**
+     * 从兜底分区 p_future 中拆出新的按天分区
+     */
+    @Update("ALTER TABLE external_call_log REORGANIZE PARTITION p_future INTO (${definitions})")
+    void reorganizeFuturePartition(@Param("definitions") String definitions);
+
+    @Update("ALTER TABLE external_call_log DROP PARTITION ${names}")
+    void dropPartitions(@Param("names") String names);
+}
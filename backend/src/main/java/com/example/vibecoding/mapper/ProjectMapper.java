@@ -1,9 +1,26 @@
 package com.example.vibecoding.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.example.vibecoding.model.entity.Project;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 @Mapper
 public interface ProjectMapper extends BaseMapper<Project> {
-}
\ No newline at end of file
+
+    /**
+     * 流式读取项目，逐行回调 handler，不在内存中累积结果
+     * fetchSize = Integer.MIN_VALUE 使 MySQL 驱动逐行返回；自定义SQL不会自动追加逻辑删除条件，需由 wrapper 指定 deleted = 0
+     */
+    @Select("SELECT id, name, owner, status, created_at, updated_at, deleted FROM project ${ew.customSqlSegment}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(Project.class)
+    void streamProjects(@Param(Constants.WRAPPER) Wrapper<Project> wrapper, ResultHandler<Project> handler);
+}
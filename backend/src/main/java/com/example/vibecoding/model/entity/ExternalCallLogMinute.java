@@ -0,0 +1,46 @@
+package com.example.vibecoding.model.entity;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * 第三方调用分钟级汇总，(service, bucketStart) 唯一
+ */
+@Data
+@TableName("external_call_log_minute")
+public class ExternalCallLogMinute {
+
+    private String service;
+
+    private Date bucketStart;
+
+    private Integer totalCount;
+
+    private Integer successCount;
+
+    private Integer retryCount;
+
+    /**
+     * 数据库生成列，只读
+     */
+    @TableField(insertStrategy = FieldStrategy.NEVER,
+            updateStrategy = FieldStrategy.NEVER)
+    private BigDecimal successRate;
+
+    private Long avgDurationMs;
+
+    private Long maxDurationMs;
+
+    private Long p50DurationMs;
+
+    private Long p95DurationMs;
+
+    private Long p99DurationMs;
+
+    private Date updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.example.vibecoding.model.enums;
+
+import com.example.vibecoding.common.BusinessException;
+import com.example.vibecoding.common.ErrorCode;
+
+/**
+ * 分页总数统计方式
+ */
+public enum CountMode {
+    /**
+     * 每次执行 COUNT(*)，返回精确总数
+     */
+    EXACT,
+    /**
+     * 不统计总数（total = -1），多取一条判断是否有下一页
+     */
+    NONE,
+    /**
+     * 总数来自按关键字缓存的短时结果，增删改后失效
+     */
+    ESTIMATE;
+
+    public static CountMode fromValue(String value) {
+        for (CountMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new BusinessException(ErrorCode.REQUEST_PARAM_ERROR, "不支持的countMode: " + value);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.vibecoding.model.enums;
+
+import com.example.vibecoding.common.BusinessException;
+import com.example.vibecoding.common.ErrorCode;
+
+/**
+ * 导出文件格式
+ */
+public enum ExportFormat {
+    /**
+     * 每行一个 JSON 对象
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException(ErrorCode.REQUEST_PARAM_ERROR, "不支持的导出格式: " + value);
+    }
+}
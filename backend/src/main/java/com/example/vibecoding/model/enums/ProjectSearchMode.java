@@ -0,0 +1,15 @@
+package com.example.vibecoding.model.enums;
+
+/**
+ * 项目关键字检索方式
+ */
+public enum ProjectSearchMode {
+    /**
+     * name/owner 双向模糊匹配（LIKE '%kw%'），无法使用索引
+     */
+    LIKE,
+    /**
+     * MySQL FULLTEXT ngram 索引（MATCH ... AGAINST），关键字短于 ngram_token_size 时退回 LIKE
+     */
+    FULLTEXT
+}
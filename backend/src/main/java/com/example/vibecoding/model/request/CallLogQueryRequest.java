@@ -0,0 +1,33 @@
+package com.example.vibecoding.model.request;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+/**
+ * 调用日志查询条件
+ * 时间范围 [from, to) 必填且有长度上限，保证查询只扫描有限的分区和索引区间
+ */
+@Data
+public class CallLogQueryRequest {
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date from;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date to;
+
+    private String traceId;
+
+    private String service;
+
+    private Boolean success;
+
+    /**
+     * 上一页返回的 nextCursor，为空表示第一页
+     */
+    private String cursor;
+
+    private int size = 50;
+}
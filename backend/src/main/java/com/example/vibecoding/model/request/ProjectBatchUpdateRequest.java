@@ -0,0 +1,22 @@
+package com.example.vibecoding.model.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * 批量更新项目请求
+ * 条目逐个校验，校验失败的条目在结果中按下标返回，不影响其他条目（atomic=true 时整体不执行）
+ */
+@Data
+public class ProjectBatchUpdateRequest {
+
+    @NotEmpty(message = "批量条目不能为空")
+    private List<ProjectUpdateRequest> items;
+
+    /**
+     * 是否要求全部成功，任一条目失败则整体回滚
+     */
+    private boolean atomic;
+}
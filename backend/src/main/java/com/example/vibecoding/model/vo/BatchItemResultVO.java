@@ -0,0 +1,37 @@
+package com.example.vibecoding.model.vo;
+
+import com.example.vibecoding.common.ErrorCode;
+import lombok.Data;
+
+/**
+ * 批量操作中单个条目的结果
+ */
+@Data
+public class BatchItemResultVO {
+    /**
+     * 条目在请求中的下标（从0开始）
+     */
+    private int index;
+    private boolean success;
+    private Long id;
+    private int code;
+    private String message;
+
+    public static BatchItemResultVO success(int index, Long id) {
+        BatchItemResultVO result = new BatchItemResultVO();
+        result.setIndex(index);
+        result.setSuccess(true);
+        result.setId(id);
+        result.setMessage("ok");
+        return result;
+    }
+
+    public static BatchItemResultVO failure(int index, Long id, ErrorCode errorCode, String message) {
+        BatchItemResultVO result = new BatchItemResultVO();
+        result.setIndex(index);
+        result.setId(id);
+        result.setCode(errorCode.getCode());
+        result.setMessage(message);
+        return result;
+    }
+}
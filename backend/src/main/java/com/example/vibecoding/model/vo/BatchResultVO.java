@@ -0,0 +1,27 @@
+package com.example.vibecoding.model.vo;
+
+import lombok.Data;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 批量操作结果，items 按请求下标排序
+ */
+@Data
+public class BatchResultVO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResultVO> items;
+
+    public static BatchResultVO of(List<BatchItemResultVO> items) {
+        items.sort(Comparator.comparingInt(BatchItemResultVO::getIndex));
+        BatchResultVO result = new BatchResultVO();
+        result.setItems(items);
+        result.setTotal(items.size());
+        result.setSucceeded((int) items.stream().filter(BatchItemResultVO::isSuccess).count());
+        result.setFailed(result.getTotal() - result.getSucceeded());
+        return result;
+    }
+}
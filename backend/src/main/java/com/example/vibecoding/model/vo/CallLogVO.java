@@ -0,0 +1,26 @@
+package com.example.vibecoding.model.vo;
+
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 第三方调用日志视图对象（每次尝试一条）
+ */
+@Data
+public class CallLogVO {
+    private Long id;
+    private String traceId;
+    private String requestId;
+    private String service;
+    private String targetUrl;
+    private String httpMethod;
+    private String queryString;
+    private Integer httpStatus;
+    private Integer success;
+    private Integer attempt;
+    private Long durationMs;
+    private String exceptionType;
+    private String exceptionMessage;
+    private Date createdAt;
+}
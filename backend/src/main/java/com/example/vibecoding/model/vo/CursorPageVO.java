@@ -0,0 +1,18 @@
+package com.example.vibecoding.model.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页响应
+ * nextCursor 为空表示没有下一页；total 仅在请求 withTotal=true 时返回
+ */
+@Data
+public class CursorPageVO<T> {
+    private List<T> records;
+    private long size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long total;
+}
@@ -0,0 +1,30 @@
+package com.example.vibecoding.model.vo;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+
+/**
+ * 分页响应，在 MyBatis-Plus Page 的基础上增加 hasNext
+ * countMode=none 时 total 与 pages 均为 -1，是否有下一页以 hasNext 为准
+ */
+public class PageVO<T> extends Page<T> {
+    private static final long serialVersionUID = 1L;
+
+    private boolean hasNext;
+
+    public PageVO(long current, long size) {
+        super(current, size);
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    @Override
+    public long getPages() {
+        return getTotal() < 0 ? -1 : super.getPages();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.vibecoding.resilience;
+
+import com.example.vibecoding.service.RequestContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 异步重试执行器
+ * 每次尝试在 attemptExecutor 上执行，退避等待交给定时器调度，不占用调用方线程；
+ * 重试不会超过调用方截止时间与策略总时长预算中较早的一个，到达截止时间时仍在进行的尝试不再等待，结果以 {@link TimeoutException} 结束；
+ * 调用方的 {@link RequestContext} 在 execute 时捕获一次，每次尝试与定时器回调都在恢复后的上下文（含 MDC）中运行
+ */
+public class AsyncRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRetryExecutor.class);
+
+    /**
+     * 单次尝试
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        /**
+         * @param attempt 当前尝试次数，从1开始
+         */
+        T call(int attempt);
+    }
+
+    private final String name;
+    private final RetryPolicy policy;
+    private final ExecutorService attemptExecutor;
+    private final ScheduledExecutorService timer;
+    private final Counter retryCounter;
+    private final Counter attemptsExhaustedCounter;
+    private final Counter deadlineExhaustedCounter;
+    private final Counter timeoutCounter;
+    private final LongSupplier nanoClock;
+
+    public AsyncRetryExecutor(String name, RetryPolicy policy, ExecutorService attemptExecutor,
+                              ScheduledExecutorService timer, MeterRegistry meterRegistry) {
+        this(name, policy, attemptExecutor, timer, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock 截止时间使用的时钟，测试中与假定时器配合推进
+     */
+    AsyncRetryExecutor(String name, RetryPolicy policy, ExecutorService attemptExecutor,
+                       ScheduledExecutorService timer, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.name = name;
+        this.nanoClock = nanoClock;
+        this.policy = policy;
+        this.attemptExecutor = attemptExecutor;
+        this.timer = timer;
+        this.retryCounter = Counter.builder("retry.scheduled")
+                .description("已调度的重试次数")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.attemptsExhaustedCounter = giveUpCounter(meterRegistry, name, "attempts");
+        this.deadlineExhaustedCounter = giveUpCounter(meterRegistry, name, "deadline");
+        this.timeoutCounter = giveUpCounter(meterRegistry, name, "timeout");
+    }
+
+    /**
+     * 执行带重试的调用
+     * @param attempt 单次尝试逻辑（阻塞调用，在 attemptExecutor 上运行）
+     * @param retryable 判断异常是否可重试
+     * @param callerTimeoutMs 调用方剩余超时时间，小于等于0表示只受策略总时长约束
+     * @return 最终结果；失败时以最后一次尝试的异常结束，截止时间到达时尝试仍未结束则以 {@link TimeoutException} 结束
+     */
+    public <T> CompletableFuture<T> execute(Attempt<T> attempt, Predicate<Throwable> retryable, long callerTimeoutMs) {
+        long budgetMs = callerTimeoutMs > 0 ? Math.min(callerTimeoutMs, policy.getMaxTotalMs()) : policy.getMaxTotalMs();
+        long deadline = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        scheduleTimeout(result, budgetMs);
+        submit(attempt, retryable, RequestContext.capture(), deadline, 1, result);
+        return result;
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+        attemptExecutor.shutdown();
+    }
+
+    /**
+     * 截止时间到达时结束结果，不等待仍在进行的尝试；结果先行结束时取消
+     */
+    private <T> void scheduleTimeout(CompletableFuture<T> result, long budgetMs) {
+        ScheduledFuture<?> timeout;
+        try {
+            timeout = timer.schedule(() -> {
+                if (result.completeExceptionally(new TimeoutException(name + " timed out after " + budgetMs + "ms"))) {
+                    timeoutCounter.increment();
+                    logger.warn("{} timed out after {}ms, in-flight attempt abandoned", name, budgetMs);
+                }
+            }, budgetMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        result.whenComplete((value, e) -> timeout.cancel(false));
+    }
+
+    private <T> void submit(Attempt<T> attempt, Predicate<Throwable> retryable, RequestContext.Snapshot context,
+                            long deadline, int attemptNumber, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            attemptExecutor.execute(context.wrap(() -> run(attempt, retryable, context, deadline, attemptNumber, result)));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private <T> void run(Attempt<T> attempt, Predicate<Throwable> retryable, RequestContext.Snapshot context,
+                         long deadline, int attemptNumber, CompletableFuture<T> result) {
+        try {
+            result.complete(attempt.call(attemptNumber));
+        } catch (Throwable e) {
+            if (result.isDone()) {
+                // 已超时，不再重试
+                return;
+            }
+            if (!retryable.test(e)) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (attemptNumber >= policy.getMaxAttempts()) {
+                attemptsExhaustedCounter.increment();
+                result.completeExceptionally(e);
+                return;
+            }
+            long delay = policy.backoffNanos(attemptNumber);
+            if (delay >= deadline - nanoClock.getAsLong()) {
+                // 退避结束时已超过截止时间，不再重试
+                deadlineExhaustedCounter.increment();
+                logger.warn("{} retry abandoned, deadline would be exceeded after attempt {}", name, attemptNumber);
+                result.completeExceptionally(e);
+                return;
+            }
+            retryCounter.increment();
+            try {
+                timer.schedule(context.wrap(() -> submit(attempt, retryable, context, deadline, attemptNumber + 1, result)),
+                        delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException rejected) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static Counter giveUpCounter(MeterRegistry meterRegistry, String name, String reason) {
+        return Counter.builder("retry.exhausted")
+                .description("放弃重试的调用次数")
+                .tag("name", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
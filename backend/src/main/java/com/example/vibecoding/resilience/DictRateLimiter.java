@@ -0,0 +1,93 @@
+package com.example.vibecoding.resilience;
+
+import com.example.vibecoding.common.BusinessException;
+import com.example.vibecoding.common.ErrorCode;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Bucket4j;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 第三方字典服务出站限流（令牌桶）
+ * 每一次实际发往第三方的请求（包括重试）都消耗一个令牌
+ */
+@Component
+public class DictRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DictRateLimiter.class);
+
+    /**
+     * 令牌不足时的处理方式
+     * FAIL_FAST：立即拒绝
+     * WAIT：最多等待 max-wait-ms，仍拿不到令牌则拒绝
+     */
+    public enum Mode {
+        FAIL_FAST, WAIT
+    }
+
+    private final Bucket bucket;
+    private final Mode mode;
+    private final long maxWaitMs;
+    private final Counter acquiredCounter;
+    private final Counter rejectedCounter;
+
+    public DictRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${third-party.dict.rate-limit.capacity:10}") long capacity,
+                           @Value("${third-party.dict.rate-limit.refill-tokens:5}") long refillTokens,
+                           @Value("${third-party.dict.rate-limit.refill-duration:1}") long refillDurationSeconds,
+                           @Value("${third-party.dict.rate-limit.mode:FAIL_FAST}") Mode mode,
+                           @Value("${third-party.dict.rate-limit.max-wait-ms:200}") long maxWaitMs) {
+        Bandwidth limit = Bandwidth.classic(capacity,
+                Refill.greedy(refillTokens, Duration.ofSeconds(refillDurationSeconds)));
+        this.bucket = Bucket4j.builder().addLimit(limit).build();
+        this.mode = mode;
+        this.maxWaitMs = maxWaitMs;
+
+        Gauge.builder("dict.ratelimit.available.tokens", bucket, Bucket::getAvailableTokens)
+                .description("当前可用令牌数")
+                .register(meterRegistry);
+        this.acquiredCounter = Counter.builder("dict.ratelimit.acquired")
+                .description("获取到令牌的出站请求数")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("dict.ratelimit.rejected")
+                .description("因限流被拒绝的出站请求数")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取一个令牌，获取失败抛出 {@link ErrorCode#DICT_RATE_LIMITED}
+     * @param traceId 请求追踪ID
+     */
+    public void acquire(String traceId) {
+        if (tryAcquire()) {
+            acquiredCounter.increment();
+            return;
+        }
+        rejectedCounter.increment();
+        logger.warn("Third-party API rate limited, mode: {}, traceId: {}", mode, traceId);
+        throw new BusinessException(ErrorCode.DICT_RATE_LIMITED);
+    }
+
+    private boolean tryAcquire() {
+        if (mode == Mode.FAIL_FAST) {
+            return bucket.tryConsume(1);
+        }
+        try {
+            return bucket.asScheduler().tryConsume(1, TimeUnit.MILLISECONDS.toNanos(maxWaitMs));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.vibecoding.resilience;
+
+import com.example.vibecoding.common.BusinessException;
+import com.example.vibecoding.common.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 项目流式导出的并发隔离
+ * 导出在独立的 project-export 线程池上写出，长时间占用线程与 OLTP 连接时不影响 applicationTaskExecutor 上的其他异步请求（字典查询）；
+ * 同时进行的导出不超过 max-concurrent 个，超出时立即拒绝。线程池不注册为 Bean，避免替换 Spring Boot 默认的 applicationTaskExecutor
+ */
+@Component
+public class ProjectExportBulkhead {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectExportBulkhead.class);
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final ThreadPoolTaskExecutor executor;
+    private final Counter rejectedCounter;
+
+    public ProjectExportBulkhead(MeterRegistry meterRegistry,
+                                 TaskDecorator requestContextTaskDecorator,
+                                 @Value("${project.export.max-concurrent:2}") int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        // 超时后许可先于写出线程释放，排队容量用于吸收这段重叠
+        executor.setQueueCapacity(maxConcurrent);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("project-export-");
+        executor.setTaskDecorator(requestContextTaskDecorator);
+        executor.initialize();
+
+        Gauge.builder("project.export.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("进行中的导出数")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("project.export.rejected")
+                .description("因并发导出已满被拒绝的导出请求数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 占用一个导出许可，返回在导出线程池上执行的异步任务；许可在任务结束或异步请求完成（含超时、出错）时归还
+     * 许可已满时抛出 {@link ErrorCode#PROJECT_EXPORT_LIMITED}
+     * @param timeoutMs 异步请求超时时间（毫秒）
+     */
+    public <T> WebAsyncTask<T> submit(long timeoutMs, Callable<T> task) {
+        if (!permits.tryAcquire()) {
+            rejectedCounter.increment();
+            logger.warn("Project export rejected, {} exports already running", maxConcurrent);
+            throw new BusinessException(ErrorCode.PROJECT_EXPORT_LIMITED);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        WebAsyncTask<T> asyncTask = new WebAsyncTask<>(timeoutMs, executor, () -> {
+            try {
+                return task.call();
+            } finally {
+                release.run();
+            }
+        });
+        asyncTask.onCompletion(release);
+        return asyncTask;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
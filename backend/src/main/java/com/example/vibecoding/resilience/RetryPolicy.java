@@ -0,0 +1,35 @@
+package com.example.vibecoding.resilience;
+
+import lombok.Value;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 指数退避重试策略（带抖动）
+ */
+@Value
+public class RetryPolicy {
+    /**
+     * 最大尝试次数（含首次）
+     */
+    int maxAttempts;
+    long initialDelayMs;
+    double multiplier;
+    long maxDelayMs;
+    /**
+     * 整个调用（含所有重试与退避）的时间预算
+     */
+    long maxTotalMs;
+
+    /**
+     * 第 attempt 次失败后的退避时间：在 [backoff/2, backoff] 内随机（equal jitter），避免重试同步形成尖峰
+     */
+    public long backoffNanos(int attempt) {
+        double backoff = initialDelayMs * Math.pow(multiplier, attempt - 1);
+        long capped = (long) Math.min(backoff, maxDelayMs);
+        long half = capped / 2;
+        long jittered = half + ThreadLocalRandom.current().nextLong(capped - half + 1);
+        return TimeUnit.MILLISECONDS.toNanos(jittered);
+    }
+}
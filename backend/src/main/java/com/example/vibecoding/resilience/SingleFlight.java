@@ -0,0 +1,117 @@
+package com.example.vibecoding.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 相同键的并发请求合并（single-flight）
+ * 同一时刻每个键只有一个调用方（leader）真正发起调用，其余调用方（follower）共享同一个结果future
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.coalescedCounter = Counter.builder("singleflight.coalesced")
+                .description("被合并到进行中请求的调用次数")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("singleflight.inflight", inFlight, Map::size)
+                .description("进行中的合并请求数")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 加入某个键的调用：不存在进行中的调用时当前调用方成为leader
+     * @param key 合并键
+     * @param callerId 调用方标识（如traceId），follower可通过 {@link Flight#getLeaderId()} 关联到leader
+     */
+    public Flight acquire(K key, String callerId) {
+        Flight candidate = new Flight(key, callerId);
+        Flight existing = inFlight.putIfAbsent(key, candidate);
+        if (existing == null) {
+            return candidate;
+        }
+        coalescedCounter.increment();
+        return existing.asFollower();
+    }
+
+    public double coalescedCount() {
+        return coalescedCounter.count();
+    }
+
+    public class Flight {
+        private final K key;
+        private final String leaderId;
+        private final CompletableFuture<V> future;
+        private final boolean leader;
+
+        private Flight(K key, String leaderId) {
+            this(key, leaderId, new CompletableFuture<>(), true);
+        }
+
+        private Flight(K key, String leaderId, CompletableFuture<V> future, boolean leader) {
+            this.key = key;
+            this.leaderId = leaderId;
+            this.future = future;
+            this.leader = leader;
+        }
+
+        private Flight asFollower() {
+            return new Flight(key, leaderId, future, false);
+        }
+
+        public boolean isLeader() {
+            return leader;
+        }
+
+        public String getLeaderId() {
+            return leaderId;
+        }
+
+        /**
+         * leader发起实际调用，调用结束后把结果（或异常）共享给所有follower
+         * @param supplier 发起调用并返回其结果的future
+         */
+        public CompletableFuture<V> run(Supplier<CompletableFuture<V>> supplier) {
+            if (!leader) {
+                throw new IllegalStateException("only the leader can run a flight");
+            }
+            CompletableFuture<V> source;
+            try {
+                source = supplier.get();
+            } catch (RuntimeException | Error e) {
+                source = new CompletableFuture<>();
+                source.completeExceptionally(e);
+            }
+            source.whenComplete((value, e) -> {
+                // 先移除再完成，保证完成后到达的调用方会发起新的调用
+                inFlight.remove(key, this);
+                if (e != null) {
+                    future.completeExceptionally(e instanceof CompletionException && e.getCause() != null
+                            ? e.getCause() : e);
+                } else {
+                    future.complete(value);
+                }
+            });
+            return result();
+        }
+
+        /**
+         * 当前调用的结果视图，各调用方互不影响（例如取消）
+         */
+        public CompletableFuture<V> result() {
+            return future.thenApply(Function.identity());
+        }
+    }
+}
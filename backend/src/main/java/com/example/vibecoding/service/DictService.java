@@ -1,15 +1,25 @@
 package com.example.vibecoding.service;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface DictService {
     /**
-     * 查询字典数据
+     * 异步查询字典数据
      * @param pageNum 页码
      * @param pageSize 每页大小
      * @param dictType 字典类型
      * @param traceId 请求追踪ID
+     * @param timeoutMs 调用方超时时间（毫秒），重试不会超过该时间；小于等于0表示不限制
      * @return 第三方API响应结果
      */
-    Map<String, Object> queryDict(Long pageNum, Long pageSize, String dictType, String traceId);
-}
\ No newline at end of file
+    CompletableFuture<Map<String, Object>> queryDict(Long pageNum, Long pageSize, String dictType,
+                                                     String traceId, long timeoutMs);
+
+    /**
+     * 失效指定字典类型的本地缓存
+     * @param dictType 字典类型
+     * @return 被移除的缓存条目数
+     */
+    int invalidateCache(String dictType);
+}
@@ -0,0 +1,20 @@
+package com.example.vibecoding.service;
+
+import com.example.vibecoding.model.request.CallLogQueryRequest;
+import com.example.vibecoding.model.vo.CallLogVO;
+import com.example.vibecoding.model.vo.CursorPageVO;
+
+import java.util.List;
+
+public interface ExternalCallLogQueryService {
+
+    /**
+     * 按时间范围（必填）及 traceId/service/success 过滤，按 (created_at, id) 倒序游标分页
+     */
+    CursorPageVO<CallLogVO> queryCallLogs(CallLogQueryRequest request);
+
+    /**
+     * 查询一个 traceId 的全部尝试，按 attempt 排序
+     */
+    List<CallLogVO> getTrace(String traceId);
+}
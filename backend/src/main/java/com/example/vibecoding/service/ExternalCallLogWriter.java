@@ -0,0 +1,13 @@
+package com.example.vibecoding.service;
+
+import com.example.vibecoding.model.entity.ExternalCallLog;
+
+public interface ExternalCallLogWriter {
+    /**
+     * 提交一条第三方调用日志
+     * 日志先进入内存队列，由后台线程按批量大小或时间间隔落库，调用方不会等待数据库写入
+     * @param log 调用日志
+     * @return 是否成功进入队列（队列溢出被丢弃时返回false）
+     */
+    boolean submit(ExternalCallLog log);
+}
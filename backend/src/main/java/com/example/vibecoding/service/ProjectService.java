@@ -1,13 +1,20 @@
 package com.example.vibecoding.service;
 
-import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.vibecoding.model.entity.Project;
+import com.example.vibecoding.model.enums.CountMode;
+import com.example.vibecoding.model.enums.ExportFormat;
+import com.example.vibecoding.model.vo.BatchResultVO;
+import com.example.vibecoding.model.vo.CursorPageVO;
+import com.example.vibecoding.model.vo.PageVO;
 import com.example.vibecoding.model.vo.ProjectVO;
 import com.example.vibecoding.model.request.ProjectCreateRequest;
 import com.example.vibecoding.model.request.ProjectUpdateRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 public interface ProjectService extends IService<Project> {
 
     /**
@@ -22,8 +29,16 @@ public interface ProjectService extends IService<Project> {
 
     /**
      * 分页查询项目列表
+     * @param countMode 总数统计方式
+     */
+    PageVO<ProjectVO> getProjectList(int page, int size, String keyword, CountMode countMode);
+
+    /**
+     * 游标分页查询项目列表（按创建时间倒序）
+     * @param cursor 上一页返回的 nextCursor，为空表示第一页
+     * @param withTotal 是否额外返回总数
      */
-    IPage<ProjectVO> getProjectList(int page, int size, String keyword);
+    CursorPageVO<ProjectVO> getProjectListByCursor(String cursor, int size, String keyword, boolean withTotal);
 
     /**
      * 更新项目
@@ -34,4 +49,30 @@ public interface ProjectService extends IService<Project> {
      * 删除项目（逻辑删除）
      */
     boolean deleteProject(Long id);
+
+    /**
+     * 批量创建项目
+     * @param atomic true 时任一条目失败则全部不生效
+     * @return 按下标的逐条结果
+     */
+    BatchResultVO createProjects(List<ProjectCreateRequest> requests, boolean atomic);
+
+    /**
+     * 批量更新项目（与单条更新相同，只更新非null字段）
+     * @param atomic true 时任一条目失败则全部不生效
+     */
+    BatchResultVO updateProjects(List<ProjectUpdateRequest> requests, boolean atomic);
+
+    /**
+     * 批量删除项目（逻辑删除）
+     * @param atomic true 时任一条目失败则全部不生效
+     */
+    BatchResultVO deleteProjects(List<Long> ids, boolean atomic);
+
+    /**
+     * 流式导出项目（未删除，按创建时间倒序），逐行写入输出流
+     * @param keyword 与列表接口相同的关键字过滤
+     * @return 导出行数
+     */
+    long exportProjects(String keyword, ExportFormat format, OutputStream out) throws IOException;
 }
\ No newline at end of file
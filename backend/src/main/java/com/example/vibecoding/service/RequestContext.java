@@ -1,29 +1,355 @@
 package com.example.vibecoding.service;
 
-import java.util.HashMap;
+import org.slf4j.MDC;
+
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 线程级请求上下文
+ * 每个线程复用同一个固定槽位的上下文对象（traceId、userId 及通过 {@link Key} 注册的扩展属性），bind 不产生新对象；
+ * 2MB 的 payload 缓冲区只在调用 {@link #payload()} 时从共享池借出，{@link #reset()} 时归还
+ * reset 会清空全部槽位，之后 {@link #read(String)} 一律返回 null
+ *
+ * 跨线程传递：提交任务前 {@link #capture()} 得到不可变快照，在目标线程 {@link Snapshot#restore()} 打开作用域，
+ * 关闭作用域时恢复目标线程原有的上下文；作用域内 MDC 的 traceId/userId 由槽位写入，不复制 MDC Map
+ */
 public class RequestContext {
 
-    private static final ThreadLocal<Map<String, Object>> LOCAL = new ThreadLocal<>();
+    public static final String TRACE_ID = "traceId";
+    public static final String USER_ID = "userId";
+    public static final String PAYLOAD = "payload";
+
+    static final int PAYLOAD_SIZE = 2 * 1024 * 1024;
+
+    /**
+     * 池中最多保留的空闲缓冲区数量，超出的直接交给GC
+     */
+    private static final int MAX_POOLED_PAYLOADS = 16;
+
+    private static final ThreadLocal<Slots> LOCAL = ThreadLocal.withInitial(Slots::new);
+    private static final Queue<byte[]> PAYLOAD_POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED_PAYLOADS = new AtomicInteger();
+
+    private static final Map<String, Key<?>> KEYS = new ConcurrentHashMap<>();
+    private static final AtomicInteger KEY_COUNT = new AtomicInteger();
 
     public void bind(String traceId, String userId) {
-        Map<String, Object> ctx = LOCAL.get();
-        if (ctx == null) {
-            ctx = new HashMap<>();
-            LOCAL.set(ctx);
-        }
-        ctx.put("traceId", traceId);
-        ctx.put("userId", userId);
-        ctx.put("payload", new byte[2 * 1024 * 1024]);
+        Slots slots = LOCAL.get();
+        slots.traceId = traceId;
+        slots.userId = userId;
+        slots.bound = true;
+    }
+
+    public boolean isBound() {
+        return LOCAL.get().bound;
     }
 
     public Object read(String key) {
-        Map<String, Object> ctx = LOCAL.get();
-        return ctx == null ? null : ctx.get(key);
+        Slots slots = LOCAL.get();
+        if (!slots.bound) {
+            return null;
+        }
+        switch (key) {
+            case TRACE_ID:
+                return slots.traceId;
+            case USER_ID:
+                return slots.userId;
+            case PAYLOAD:
+                return slots.payload;
+            default:
+                Key<?> attribute = KEYS.get(key);
+                return attribute == null ? null : slots.get(attribute.index);
+        }
+    }
+
+    public String getTraceId() {
+        Slots slots = LOCAL.get();
+        return slots.bound ? slots.traceId : null;
+    }
+
+    public String getUserId() {
+        Slots slots = LOCAL.get();
+        return slots.bound ? slots.userId : null;
+    }
+
+    /**
+     * 设置扩展属性，需在 bind 之后调用
+     */
+    public <T> void set(Key<T> key, T value) {
+        Slots slots = LOCAL.get();
+        if (!slots.bound) {
+            throw new IllegalStateException("RequestContext is not bound");
+        }
+        slots.set(key.index, value);
+    }
+
+    public <T> T get(Key<T> key) {
+        Slots slots = LOCAL.get();
+        return slots.bound ? key.type.cast(slots.get(key.index)) : null;
+    }
+
+    /**
+     * 借用当前上下文的 payload 缓冲区（首次调用时从池中取出），reset 时归还，调用方不得在 reset 后继续持有
+     */
+    public byte[] payload() {
+        Slots slots = LOCAL.get();
+        if (!slots.bound) {
+            throw new IllegalStateException("RequestContext is not bound");
+        }
+        if (slots.payload == null) {
+            slots.payload = borrowPayload();
+        }
+        return slots.payload;
     }
 
+    /**
+     * 清空当前线程的全部槽位并归还缓冲区，上下文对象留给线程下次复用
+     */
     public void reset() {
+        Slots slots = LOCAL.get();
+        if (slots.payload != null) {
+            returnPayload(slots.payload);
+        }
+        slots.clear();
+    }
+
+    /**
+     * 彻底移除当前线程的上下文对象（线程即将退出或归还给外部线程池时使用）
+     */
+    public void remove() {
+        reset();
         LOCAL.remove();
     }
-}
\ No newline at end of file
+
+    /**
+     * 在当前线程打开一个新的上下文作用域，并把 traceId/userId 写入 MDC；关闭时恢复之前的上下文与 MDC
+     */
+    public static Scope open(String traceId, String userId) {
+        return new Snapshot(traceId, userId, Slots.EMPTY).restore();
+    }
+
+    /**
+     * 捕获当前线程上下文的不可变快照（payload 缓冲区属于线程，不随快照传递）
+     */
+    public static Snapshot capture() {
+        Slots slots = LOCAL.get();
+        if (!slots.bound) {
+            return Snapshot.NONE;
+        }
+        return new Snapshot(slots.traceId, slots.userId, slots.copyAttributes());
+    }
+
+    private static byte[] borrowPayload() {
+        byte[] payload = PAYLOAD_POOL.poll();
+        if (payload == null) {
+            return new byte[PAYLOAD_SIZE];
+        }
+        POOLED_PAYLOADS.decrementAndGet();
+        // 上一个使用者的数据不能泄漏给下一个请求
+        Arrays.fill(payload, (byte) 0);
+        return payload;
+    }
+
+    private static void returnPayload(byte[] payload) {
+        if (POOLED_PAYLOADS.incrementAndGet() <= MAX_POOLED_PAYLOADS) {
+            PAYLOAD_POOL.offer(payload);
+        } else {
+            POOLED_PAYLOADS.decrementAndGet();
+        }
+    }
+
+    /**
+     * 扩展属性的类型化键，进程内按名称唯一，应声明为常量
+     */
+    public static final class Key<T> {
+
+        private final String name;
+        private final Class<T> type;
+        private final int index;
+
+        private Key(String name, Class<T> type, int index) {
+            this.name = name;
+            this.type = type;
+            this.index = index;
+        }
+
+        public static <T> Key<T> of(String name, Class<T> type) {
+            if (TRACE_ID.equals(name) || USER_ID.equals(name) || PAYLOAD.equals(name)) {
+                throw new IllegalArgumentException("Reserved context key: " + name);
+            }
+            Key<?> key = KEYS.computeIfAbsent(name, n -> new Key<>(n, type, KEY_COUNT.getAndIncrement()));
+            if (key.type != type) {
+                throw new IllegalArgumentException("Context key " + name + " already registered as " + key.type.getName());
+            }
+            @SuppressWarnings("unchecked")
+            Key<T> typed = (Key<T>) key;
+            return typed;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * 上下文快照，可在任意线程上多次 restore
+     */
+    public static final class Snapshot {
+
+        /**
+         * 未绑定上下文时的快照，restore 后目标线程在作用域内同样处于未绑定状态
+         */
+        public static final Snapshot NONE = new Snapshot(null, null, Slots.EMPTY, false);
+
+        private final String traceId;
+        private final String userId;
+        private final Object[] attributes;
+        private final boolean bound;
+
+        private Snapshot(String traceId, String userId, Object[] attributes) {
+            this(traceId, userId, attributes, true);
+        }
+
+        private Snapshot(String traceId, String userId, Object[] attributes, boolean bound) {
+            this.traceId = traceId;
+            this.userId = userId;
+            this.attributes = attributes;
+            this.bound = bound;
+        }
+
+        public String getTraceId() {
+            return traceId;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        /**
+         * 在当前线程恢复快照，必须在同一线程关闭返回的作用域
+         */
+        public Scope restore() {
+            Slots previous = LOCAL.get();
+            Slots current = previous;
+            if (previous.bound || previous.payload != null) {
+                // 当前线程已有上下文（例如任务在调用方线程内联执行），换用新的槽位对象，关闭时换回
+                current = new Slots();
+                LOCAL.set(current);
+            }
+            current.bound = bound;
+            current.traceId = traceId;
+            current.userId = userId;
+            if (attributes.length > 0) {
+                current.attributes = attributes.clone();
+            }
+            syncMdc(current);
+            return new Scope(previous, current);
+        }
+
+        public Runnable wrap(Runnable task) {
+            return () -> {
+                try (Scope ignored = restore()) {
+                    task.run();
+                }
+            };
+        }
+
+        public <T> Callable<T> wrap(Callable<T> task) {
+            return () -> {
+                try (Scope ignored = restore()) {
+                    return task.call();
+                }
+            };
+        }
+    }
+
+    /**
+     * 上下文作用域，关闭时清空本作用域的槽位、归还缓冲区并恢复之前的上下文与 MDC
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Slots previous;
+        private final Slots current;
+        private boolean closed;
+
+        private Scope(Slots previous, Slots current) {
+            this.previous = previous;
+            this.current = current;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (current.payload != null) {
+                returnPayload(current.payload);
+            }
+            current.clear();
+            if (previous != current) {
+                LOCAL.set(previous);
+            }
+            syncMdc(previous);
+        }
+    }
+
+    private static void syncMdc(Slots slots) {
+        putOrRemove(TRACE_ID, slots.bound ? slots.traceId : null);
+        putOrRemove(USER_ID, slots.bound ? slots.userId : null);
+    }
+
+    private static void putOrRemove(String key, String value) {
+        if (value == null) {
+            MDC.remove(key);
+        } else {
+            MDC.put(key, value);
+        }
+    }
+
+    private static final class Slots {
+
+        static final Object[] EMPTY = new Object[0];
+
+        boolean bound;
+        String traceId;
+        String userId;
+        byte[] payload;
+        Object[] attributes = EMPTY;
+
+        Object get(int index) {
+            return index < attributes.length ? attributes[index] : null;
+        }
+
+        void set(int index, Object value) {
+            if (index >= attributes.length) {
+                // 只在注册了新键后扩容一次，之后复用
+                attributes = Arrays.copyOf(attributes, Math.max(KEY_COUNT.get(), index + 1));
+            }
+            attributes[index] = value;
+        }
+
+        Object[] copyAttributes() {
+            for (Object attribute : attributes) {
+                if (attribute != null) {
+                    return attributes.clone();
+                }
+            }
+            return EMPTY;
+        }
+
+        void clear() {
+            bound = false;
+            traceId = null;
+            userId = null;
+            payload = null;
+            Arrays.fill(attributes, null);
+        }
+    }
+}
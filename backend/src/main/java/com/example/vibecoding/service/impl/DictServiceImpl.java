@@ -1,9 +1,26 @@
 package com.example.vibecoding.service.impl;
 
-import com.example.vibecoding.mapper.ExternalCallLogMapper;
+import com.example.vibecoding.cache.DictQueryCache;
+import com.example.vibecoding.cache.DictQueryKey;
+import com.example.vibecoding.common.BusinessException;
+import com.example.vibecoding.common.ErrorCode;
 import com.example.vibecoding.model.entity.ExternalCallLog;
+import com.example.vibecoding.resilience.AsyncRetryExecutor;
+import com.example.vibecoding.resilience.DictRateLimiter;
+import com.example.vibecoding.resilience.SingleFlight;
 import com.example.vibecoding.service.DictService;
+import com.example.vibecoding.service.ExternalCallLogWriter;
+import com.example.vibecoding.tracing.Span;
+import com.example.vibecoding.tracing.SpanKind;
+import com.example.vibecoding.tracing.Tracer;
 import com.example.vibecoding.util.ThirdPartySignatureUtil;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,18 +30,21 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PostConstruct;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class DictServiceImpl implements DictService {
@@ -35,7 +55,25 @@ public class DictServiceImpl implements DictService {
     private RestTemplate restTemplate;
 
     @Autowired
-    private ExternalCallLogMapper externalCallLogMapper;
+    private ExternalCallLogWriter externalCallLogWriter;
+
+    @Autowired
+    private DictQueryCache dictQueryCache;
+
+    @Autowired
+    private DictRateLimiter dictRateLimiter;
+
+    @Autowired
+    private AsyncRetryExecutor dictRetryExecutor;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Tracer tracer;
 
     @Value("${third-party.dict.base-url}")
     private String baseUrl;
@@ -46,11 +84,45 @@ public class DictServiceImpl implements DictService {
     @Value("${third-party.dict.app-secret}")
     private String appSecret;
 
+    @Value("${third-party.dict.circuit-breaker.serve-last-known-good:true}")
+    private boolean serveLastKnownGood;
+
     private static final String SERVICE_NAME = "DICT_QUERY";
     private static final String API_PATH = "/api/v1/dataapi/execute/dict/query";
 
+    /**
+     * 相同查询键的并发回源请求合并为一次第三方调用
+     */
+    private SingleFlight<DictQueryKey, Map<String, Object>> singleFlight;
+
+    /**
+     * 第三方服务熔断器，按尝试次数统计失败率与慢调用率
+     */
+    private CircuitBreaker circuitBreaker;
+
+    /**
+     * 字典查询端到端耗时（含缓存、请求合并、重试与退避），按结果区分
+     */
+    private Timer querySuccessTimer;
+    private Timer queryErrorTimer;
+
+    /**
+     * 单次尝试耗时按 (结果, 状态码, 尝试次数) 缓存，热路径上不重复构建标签与查找注册表；
+     * 组合数受结果种类、状态码与最大尝试次数限制
+     */
+    private final ConcurrentMap<AttemptTimerKey, Timer> attemptTimers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        singleFlight = new SingleFlight<>("dict_query", meterRegistry);
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker(SERVICE_NAME);
+        querySuccessTimer = queryTimer("success");
+        queryErrorTimer = queryTimer("error");
+    }
+
     @Override
-    public Map<String, Object> queryDict(Long pageNum, Long pageSize, String dictType, String traceId) {
+    public CompletableFuture<Map<String, Object>> queryDict(Long pageNum, Long pageSize, String dictType,
+                                                            String traceId, long timeoutMs) {
         // 参数验证已在Controller层完成
         
         Map<String, Object> queryParams = new HashMap<>();
@@ -58,46 +130,148 @@ public class DictServiceImpl implements DictService {
         queryParams.put("pageSize", pageSize);
         queryParams.put("dictType", dictType);
 
-        // 调用第三方API
+        // 优先读取本地缓存，未命中或过期时调用第三方API
+        DictQueryKey cacheKey = new DictQueryKey(dictType, pageNum, pageSize);
+        long startNanos = System.nanoTime();
+        CompletableFuture<Map<String, Object>> result;
         try {
-            long startTime = System.currentTimeMillis();
-            Map<String, Object> result = callThirdPartyApi(queryParams, traceId);
-            long duration = System.currentTimeMillis() - startTime;
-            logger.info("Dict query success, traceId: {}, duration: {}ms", traceId, duration);
+            result = dictQueryCache.get(cacheKey, () -> loadCoalesced(cacheKey, queryParams, traceId, timeoutMs));
+        } catch (RuntimeException e) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+        }
+        if (serveLastKnownGood) {
+            result = result.exceptionally(e -> lastKnownGoodOrThrow(cacheKey, traceId, e));
+        }
+        return result.whenComplete((value, e) -> {
+            long elapsed = System.nanoTime() - startNanos;
+            (e == null ? querySuccessTimer : queryErrorTimer).record(elapsed, TimeUnit.NANOSECONDS);
+            if (e == null) {
+                logger.info("Dict query success, traceId: {}, duration: {}ms", traceId,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
+            } else {
+                logger.error("Dict query failed, traceId: {}", traceId, unwrap(e));
+            }
+        });
+    }
+
+    /**
+     * 熔断打开时返回最近一次成功的结果，没有可用结果或其他异常时原样抛出
+     */
+    private Map<String, Object> lastKnownGoodOrThrow(DictQueryKey cacheKey, String traceId, Throwable e) {
+        Throwable cause = unwrap(e);
+        if (cause instanceof BusinessException
+                && ((BusinessException) cause).getCode() == ErrorCode.DICT_CIRCUIT_OPEN.getCode()) {
+            Map<String, Object> lastKnownGood = dictQueryCache.getLastKnownGood(cacheKey);
+            if (lastKnownGood != null) {
+                logger.warn("Circuit breaker open, serving last known good result, traceId: {}", traceId);
+                return lastKnownGood;
+            }
+        }
+        throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(cause);
+    }
+
+    @Override
+    public int invalidateCache(String dictType) {
+        int removed = dictQueryCache.invalidate(dictType);
+        logger.info("Dict cache invalidated, dictType: {}, removed: {}", dictType, removed);
+        return removed;
+    }
+
+    /**
+     * 合并并发的相同查询：leader 调用第三方API，follower 等待共享结果
+     * follower 以自己的 traceId 记录一条 attempt=0 的调用日志，request_id 为 leader 的 traceId
+     */
+    private CompletableFuture<Map<String, Object>> loadCoalesced(DictQueryKey cacheKey, Map<String, Object> queryParams,
+                                                                 String traceId, long timeoutMs) {
+        SingleFlight<DictQueryKey, Map<String, Object>>.Flight flight = singleFlight.acquire(cacheKey, traceId);
+        if (flight.isLeader()) {
+            return flight.run(() -> callWithRetry(queryParams, traceId, timeoutMs));
+        }
+
+        logger.info("Dict query coalesced, traceId: {}, leaderTraceId: {}", traceId, flight.getLeaderId());
+        long startNanos = System.nanoTime();
+        String queryString = buildQueryString(queryParams);
+        return flight.result().whenComplete((value, e) -> {
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (e == null) {
+                logExternalCall(traceId, flight.getLeaderId(), API_PATH, HttpMethod.GET.name(),
+                        queryString, null, true, 0, duration, null, null);
+            } else {
+                Throwable cause = unwrap(e);
+                logExternalCall(traceId, flight.getLeaderId(), API_PATH, HttpMethod.GET.name(),
+                        queryString, null, false, 0, duration, cause.getClass().getSimpleName(), cause.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 异步调用第三方API（带重试机制）
+     * 服务端错误与网络错误（RestClientException）会以带抖动的指数退避重试，
+     * 退避由定时器调度，且不会超过调用方超时时间与重试总时长预算
+     */
+    private CompletableFuture<Map<String, Object>> callWithRetry(Map<String, Object> queryParams, String traceId,
+                                                                 long timeoutMs) {
+        return dictRetryExecutor.execute(attempt -> tracedAttempt(queryParams, traceId, attempt),
+                e -> e instanceof RestClientException, timeoutMs);
+    }
+
+    /**
+     * 单次尝试的 span，相邻两次尝试之间的空隙即为退避等待
+     */
+    private Map<String, Object> tracedAttempt(Map<String, Object> queryParams, String traceId, int attempt) {
+        Span span = tracer.startSpan("dict.attempt", SpanKind.INTERNAL).tag("attempt", attempt);
+        try (Tracer.Scope ignored = tracer.activate(span)) {
+            Map<String, Object> result = callThroughCircuitBreaker(queryParams, traceId, attempt);
+            span.end();
             return result;
-        } catch (Exception e) {
-            logger.error("Dict query failed, traceId: {}", traceId, e);
+        } catch (RuntimeException e) {
+            span.end(e);
             throw e;
         }
     }
 
     /**
-     * 调用第三方API（带重试机制）
+     * 经熔断器调用第三方API
+     * 熔断打开（或半开探测名额已满）时直接失败，不再访问第三方，并记录一条短路日志
      */
-    @Retryable(
-            value = {HttpServerErrorException.class, RestClientException.class},
-            maxAttempts = 3,
-            backoff = @Backoff(
-                    delay = 1000,
-                    multiplier = 2.0,
-                    maxDelay = 5000
-            )
-    )
-    protected Map<String, Object> callThirdPartyApi(Map<String, Object> queryParams, String traceId) {
-        int attempt = 1;
-        if (RetrySynchronizationManager.getContext() != null) {
-            attempt = RetrySynchronizationManager.getContext().getRetryCount() + 1;
+    private Map<String, Object> callThroughCircuitBreaker(Map<String, Object> queryParams, String traceId, int attempt) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            CallNotPermittedException rejected = CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+            logExternalCall(traceId, null, API_PATH, HttpMethod.GET.name(),
+                    buildQueryString(queryParams), null, false, attempt, 0L,
+                    rejected.getClass().getSimpleName(), rejected.getMessage());
+            logger.warn("Third-party API short-circuited, state: {}, attempt: {}, traceId: {}",
+                    circuitBreaker.getState(), attempt, traceId);
+            throw new BusinessException(ErrorCode.DICT_CIRCUIT_OPEN);
         }
-        long startTime = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            Map<String, Object> result = callThirdPartyApi(queryParams, traceId, attempt);
+            circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 调用第三方API（单次尝试）
+     */
+    protected Map<String, Object> callThirdPartyApi(Map<String, Object> queryParams, String traceId, int attempt) {
+        long startNanos = System.nanoTime();
         String url = baseUrl + API_PATH;
         String queryString = buildQueryString(queryParams);
         
+        // 每次尝试（包括重试）都需要获取限流令牌
+        dictRateLimiter.acquire(traceId);
+
         logger.info("Calling third-party API, attempt: {}, url: {}, traceId: {}", attempt, url, traceId);
 
         try {
             // 生成请求头
-            Map<String, String> headersMap = ThirdPartySignatureUtil.generateHeaders(
-                    appKey, appSecret, HttpMethod.GET.name(), API_PATH, queryParams);
+            Map<String, String> headersMap = signHeaders(queryParams);
             
             HttpHeaders headers = new HttpHeaders();
             headersMap.forEach(headers::add);
@@ -112,7 +286,7 @@ public class DictServiceImpl implements DictService {
                     entity, 
                     Map.class);
             
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = recordAttempt(startNanos, attempt, "success", response.getStatusCodeValue());
             
             // 记录成功日志
             logExternalCall(traceId, null, API_PATH, HttpMethod.GET.name(), 
@@ -122,7 +296,7 @@ public class DictServiceImpl implements DictService {
             return response.getBody();
         } catch (HttpServerErrorException e) {
             // 服务器错误，重试
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = recordAttempt(startNanos, attempt, "server_error", e.getRawStatusCode());
             logExternalCall(traceId, null, API_PATH, HttpMethod.GET.name(), 
                     queryString, e.getRawStatusCode(), false, attempt, duration, 
                     e.getClass().getSimpleName(), e.getMessage());
@@ -131,7 +305,7 @@ public class DictServiceImpl implements DictService {
             throw e;
         } catch (HttpClientErrorException e) {
             // 客户端错误，不重试
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = recordAttempt(startNanos, attempt, "client_error", e.getRawStatusCode());
             logExternalCall(traceId, null, API_PATH, HttpMethod.GET.name(), 
                     queryString, e.getRawStatusCode(), false, attempt, duration, 
                     e.getClass().getSimpleName(), e.getMessage());
@@ -140,7 +314,7 @@ public class DictServiceImpl implements DictService {
             throw new RuntimeException("Third-party API client error: " + e.getMessage());
         } catch (RestClientException e) {
             // 网络错误等，重试
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = recordAttempt(startNanos, attempt, "io_error", null);
             logExternalCall(traceId, null, API_PATH, HttpMethod.GET.name(), 
                     queryString, null, false, attempt, duration, 
                     e.getClass().getSimpleName(), e.getMessage());
@@ -149,7 +323,7 @@ public class DictServiceImpl implements DictService {
             throw e;
         } catch (Exception e) {
             // 其他错误，不重试
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = recordAttempt(startNanos, attempt, "error", null);
             logExternalCall(traceId, null, API_PATH, HttpMethod.GET.name(), 
                     queryString, null, false, attempt, duration, 
                     e.getClass().getSimpleName(), e.getMessage());
@@ -158,10 +332,56 @@ public class DictServiceImpl implements DictService {
         }
     }
 
+    /**
+     * 生成签名请求头，签名失败时 span 记录异常后结束
+     */
+    private Map<String, String> signHeaders(Map<String, Object> queryParams) {
+        Span span = tracer.startSpan("dict.sign", SpanKind.INTERNAL);
+        try {
+            Map<String, String> headers = ThirdPartySignatureUtil.generateHeaders(
+                    appKey, appSecret, HttpMethod.GET.name(), API_PATH, queryParams);
+            span.end();
+            return headers;
+        } catch (RuntimeException e) {
+            span.end(e);
+            throw e;
+        }
+    }
+
+    private Timer queryTimer(String outcome) {
+        return Timer.builder("dict.query")
+                .description("字典查询耗时")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录单次尝试耗时（按结果、HTTP状态码、尝试次数打标签），返回毫秒数用于调用日志
+     */
+    private long recordAttempt(long startNanos, int attempt, String outcome, Integer status) {
+        long elapsed = System.nanoTime() - startNanos;
+        attemptTimers.computeIfAbsent(new AttemptTimerKey(outcome, status, attempt), this::attemptTimer)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    private Timer attemptTimer(AttemptTimerKey key) {
+        return Timer.builder("dict.upstream.attempt")
+                .description("第三方字典接口单次尝试耗时")
+                .tag("outcome", key.outcome)
+                .tag("status", key.status == null ? "none" : String.valueOf(key.status))
+                .tag("attempt", String.valueOf(key.attempt))
+                .register(meterRegistry);
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
     /**
      * 构建查询字符串
      */
-    private String buildQueryString(Map<String, Object> params) {
+    static String buildQueryString(Map<String, Object> params) {
         if (params == null || params.isEmpty()) {
             return StringUtils.EMPTY;
         }
@@ -180,7 +400,7 @@ public class DictServiceImpl implements DictService {
     }
 
     /**
-     * 记录调用日志
+     * 记录调用日志（异步批量落库，不阻塞请求线程）
      */
     private void logExternalCall(String traceId, String requestId, String targetUrl, String httpMethod,
                                 String queryString, Integer httpStatus, boolean success, int attempt,
@@ -189,7 +409,7 @@ public class DictServiceImpl implements DictService {
             ExternalCallLog log = new ExternalCallLog();
             log.setTraceId(traceId);
             log.setRequestId(requestId);
-            log.setService("DICT_QUERY");
+            log.setService(SERVICE_NAME);
             log.setTargetUrl(baseUrl + targetUrl);
             log.setHttpMethod(httpMethod);
             log.setQueryString(queryString);
@@ -201,10 +421,18 @@ public class DictServiceImpl implements DictService {
             log.setExceptionMessage(exceptionMessage);
             log.setCreatedAt(new Date());
             
-            externalCallLogMapper.insert(log);
+            externalCallLogWriter.submit(log);
         } catch (Exception e) {
             // 日志记录失败不影响主流程
             logger.error("Failed to record external call log, traceId: {}", traceId, e);
         }
     }
-}
\ No newline at end of file
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class AttemptTimerKey {
+        private final String outcome;
+        private final Integer status;
+        private final int attempt;
+    }
+}
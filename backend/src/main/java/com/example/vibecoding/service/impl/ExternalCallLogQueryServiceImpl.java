@@ -0,0 +1,117 @@
+package com.example.vibecoding.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.vibecoding.common.BusinessException;
+import com.example.vibecoding.common.ErrorCode;
+import com.example.vibecoding.common.PageCursor;
+import com.example.vibecoding.datasource.ReadOnly;
+import com.example.vibecoding.mapper.ExternalCallLogMapper;
+import com.example.vibecoding.model.entity.ExternalCallLog;
+import com.example.vibecoding.model.request.CallLogQueryRequest;
+import com.example.vibecoding.model.vo.CallLogVO;
+import com.example.vibecoding.model.vo.CursorPageVO;
+import com.example.vibecoding.service.ExternalCallLogQueryService;
+import com.example.vibecoding.util.BeanCopyUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class ExternalCallLogQueryServiceImpl implements ExternalCallLogQueryService {
+
+    private final ExternalCallLogMapper externalCallLogMapper;
+    private final Duration maxRange;
+    private final int maxPageSize;
+    private final int maxTraceAttempts;
+
+    public ExternalCallLogQueryServiceImpl(ExternalCallLogMapper externalCallLogMapper,
+                                           @Value("${external-call-log.query.max-range:24h}") Duration maxRange,
+                                           @Value("${external-call-log.query.max-page-size:200}") int maxPageSize,
+                                           @Value("${external-call-log.query.max-trace-attempts:500}") int maxTraceAttempts) {
+        this.externalCallLogMapper = externalCallLogMapper;
+        this.maxRange = maxRange;
+        this.maxPageSize = maxPageSize;
+        this.maxTraceAttempts = maxTraceAttempts;
+    }
+
+    @Override
+    @ReadOnly
+    public CursorPageVO<CallLogVO> queryCallLogs(CallLogQueryRequest request) {
+        checkTimeRange(request);
+        int size = Math.max(1, Math.min(request.getSize(), maxPageSize));
+
+        // 有 service 时走 idx_service_created，否则走 idx_created_id；时间范围同时用于分区裁剪
+        LambdaQueryWrapper<ExternalCallLog> queryWrapper = new LambdaQueryWrapper<ExternalCallLog>()
+                .ge(ExternalCallLog::getCreatedAt, request.getFrom())
+                .lt(ExternalCallLog::getCreatedAt, request.getTo())
+                .eq(StringUtils.isNotBlank(request.getTraceId()), ExternalCallLog::getTraceId, request.getTraceId())
+                .eq(StringUtils.isNotBlank(request.getService()), ExternalCallLog::getService, request.getService())
+                .eq(request.getSuccess() != null, ExternalCallLog::getSuccess,
+                        Boolean.TRUE.equals(request.getSuccess()) ? 1 : 0);
+        if (StringUtils.isNotBlank(request.getCursor())) {
+            PageCursor position = PageCursor.decode(request.getCursor());
+            // 等价于 (created_at, id) < (?, ?)
+            queryWrapper.and(w -> w.lt(ExternalCallLog::getCreatedAt, position.getCreatedAt())
+                    .or(o -> o.eq(ExternalCallLog::getCreatedAt, position.getCreatedAt())
+                            .lt(ExternalCallLog::getId, position.getId())));
+        }
+        queryWrapper.orderByDesc(ExternalCallLog::getCreatedAt)
+                .orderByDesc(ExternalCallLog::getId)
+                // 多取一条用于判断是否有下一页，不执行COUNT
+                .last("LIMIT " + (size + 1));
+        List<ExternalCallLog> logs = externalCallLogMapper.selectList(queryWrapper);
+
+        boolean hasNext = logs.size() > size;
+        if (hasNext) {
+            logs = logs.subList(0, size);
+        }
+        CursorPageVO<CallLogVO> result = new CursorPageVO<>();
+        result.setRecords(toVOs(logs));
+        result.setSize(size);
+        result.setHasNext(hasNext);
+        if (hasNext) {
+            ExternalCallLog last = logs.get(logs.size() - 1);
+            result.setNextCursor(new PageCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return result;
+    }
+
+    @Override
+    @ReadOnly
+    public List<CallLogVO> getTrace(String traceId) {
+        if (StringUtils.isBlank(traceId)) {
+            throw new BusinessException(ErrorCode.REQUEST_PARAM_ERROR, "traceId不能为空");
+        }
+        // idx_trace_attempt 已按 attempt 有序，每个分区一次索引查找
+        List<ExternalCallLog> logs = externalCallLogMapper.selectList(new LambdaQueryWrapper<ExternalCallLog>()
+                .eq(ExternalCallLog::getTraceId, traceId)
+                .orderByAsc(ExternalCallLog::getAttempt)
+                .orderByAsc(ExternalCallLog::getCreatedAt)
+                .orderByAsc(ExternalCallLog::getId)
+                .last("LIMIT " + maxTraceAttempts));
+        return toVOs(logs);
+    }
+
+    private static List<CallLogVO> toVOs(List<ExternalCallLog> logs) {
+        return logs.stream()
+                .map(log -> BeanCopyUtil.copy(log, CallLogVO.class))
+                .collect(Collectors.toList());
+    }
+
+    private void checkTimeRange(CallLogQueryRequest request) {
+        if (request.getFrom() == null || request.getTo() == null) {
+            throw new BusinessException(ErrorCode.REQUEST_PARAM_ERROR, "必须指定时间范围 from/to");
+        }
+        long rangeMs = request.getTo().getTime() - request.getFrom().getTime();
+        if (rangeMs <= 0) {
+            throw new BusinessException(ErrorCode.REQUEST_PARAM_ERROR, "时间范围无效：from 必须早于 to");
+        }
+        if (rangeMs > maxRange.toMillis()) {
+            throw new BusinessException(ErrorCode.REQUEST_PARAM_ERROR, "时间范围不能超过 " + maxRange.toHours() + " 小时");
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.vibecoding.service.impl;
+
+import com.example.vibecoding.datasource.Workload;
+import com.example.vibecoding.mapper.ExternalCallLogMapper;
+import com.example.vibecoding.model.entity.ExternalCallLog;
+import com.example.vibecoding.service.ExternalCallLogWriter;
+import com.example.vibecoding.util.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步批量写入第三方调用日志
+ * 请求线程只负责入队，后台单线程按 batch-size 或 flush-interval-ms 触发多行 INSERT
+ */
+@Service
+public class ExternalCallLogWriterImpl implements ExternalCallLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalCallLogWriterImpl.class);
+
+    /**
+     * 队列溢出策略
+     * DROP：队列满时直接丢弃
+     * SAMPLE：队列超过高水位后，成功日志按 sample-rate 抽样入队，失败日志仍尽量保留
+     * BLOCK：队列满时阻塞等待 block-timeout-ms，超时后丢弃
+     */
+    public enum OverflowPolicy {
+        DROP, SAMPLE, BLOCK
+    }
+
+    private static final double SAMPLE_HIGH_WATERMARK = 0.8;
+
+    private final ExternalCallLogMapper externalCallLogMapper;
+    private final BlockingQueue<ExternalCallLog> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final long blockTimeoutMs;
+    private final long shutdownTimeoutMs;
+
+    private final AtomicLong sampleSequence = new AtomicLong();
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+
+    private final boolean virtualThreads;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ExternalCallLogWriterImpl(ExternalCallLogMapper externalCallLogMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${external-call-log.writer.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${external-call-log.writer.batch-size:200}") int batchSize,
+                                     @Value("${external-call-log.writer.flush-interval-ms:1000}") long flushIntervalMs,
+                                     @Value("${external-call-log.writer.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                                     @Value("${external-call-log.writer.sample-rate:10}") int sampleRate,
+                                     @Value("${external-call-log.writer.block-timeout-ms:50}") long blockTimeoutMs,
+                                     @Value("${external-call-log.writer.shutdown-timeout-ms:5000}") long shutdownTimeoutMs,
+                                     @Value("${execution.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.externalCallLogMapper = externalCallLogMapper;
+        this.queueCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.virtualThreads = VirtualThreads.isEnabled(virtualThreads, "call-log-writer");
+
+        Gauge.builder("external.call.log.queue.size", queue, BlockingQueue::size)
+                .description("待写入的调用日志数量")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("external.call.log.dropped")
+                .description("因队列溢出被丢弃的调用日志数量")
+                .tag("policy", overflowPolicy.name())
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("external.call.log.written")
+                .description("成功写入数据库的调用日志数量")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("external.call.log.write.failed")
+                .description("批量写入失败的调用日志数量")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        if (virtualThreads) {
+            worker = VirtualThreads.newThread("call-log-writer", this::runLoop);
+        } else {
+            worker = new Thread(this::runLoop, "call-log-writer");
+            worker.setDaemon(true);
+        }
+        worker.start();
+    }
+
+    /**
+     * 优雅停机：停止接收新日志，并在 shutdown-timeout-ms 内把队列中剩余日志刷入数据库
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            logger.warn("Call log writer stopped with {} logs not flushed", queue.size());
+            return;
+        }
+        // 写入线程已退出，它最后一次排空之后入队的日志由停机线程刷出
+        List<ExternalCallLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    @Override
+    public boolean submit(ExternalCallLog log) {
+        if (!running) {
+            return drop();
+        }
+        if (!offer(log)) {
+            return false;
+        }
+        // 入队前刚好开始停机：写入线程与停机线程可能都已完成排空，撤回并计为丢弃；
+        // 撤回失败说明已被取走，会正常写入
+        if (!running && queue.remove(log)) {
+            return drop();
+        }
+        return true;
+    }
+
+    private boolean offer(ExternalCallLog log) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    return queue.offer(log, blockTimeoutMs, TimeUnit.MILLISECONDS) || drop();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return drop();
+                }
+            case SAMPLE:
+                boolean failure = log.getSuccess() == null || log.getSuccess() == 0;
+                if (!failure && queue.size() >= queueCapacity * SAMPLE_HIGH_WATERMARK
+                        && sampleSequence.incrementAndGet() % sampleRate != 0) {
+                    return drop();
+                }
+                return queue.offer(log) || drop();
+            case DROP:
+            default:
+                return queue.offer(log) || drop();
+        }
+    }
+
+    /**
+     * 当前队列深度
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private boolean drop() {
+        droppedCounter.increment();
+        return false;
+    }
+
+    private void runLoop() {
+        List<ExternalCallLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // 线程被中断，剩余日志在下面统一刷出
+                Thread.currentThread().interrupt();
+                break;
+            }
+            flush(batch);
+        }
+        // 停机前排空队列
+        flush(batch);
+        while (!queue.isEmpty()) {
+            queue.drainTo(batch, batchSize);
+            flush(batch);
+        }
+    }
+
+    /**
+     * 收集一个批次：攒满 batch-size 或等待超过 flush-interval-ms 即返回
+     */
+    private void collectBatch(List<ExternalCallLog> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            ExternalCallLog log = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (log == null) {
+                return;
+            }
+            batch.add(log);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<ExternalCallLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // 使用调用日志独立的连接池，不占用项目接口的连接
+            Workload.CALL_LOG.call(() -> externalCallLogMapper.insertBatch(batch));
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            // 日志记录失败不影响主流程
+            failedCounter.increment(batch.size());
+            logger.error("Failed to write {} external call logs", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+}
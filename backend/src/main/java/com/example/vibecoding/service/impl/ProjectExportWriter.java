@@ -0,0 +1,117 @@
+package com.example.vibecoding.service.impl;
+
+import com.example.vibecoding.model.enums.ExportFormat;
+import com.example.vibecoding.model.vo.ProjectVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * 项目导出的逐行写出器，只持有一个输出缓冲区，内存占用与导出行数无关
+ */
+abstract class ProjectExportWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    protected final Writer writer;
+
+    private ProjectExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static ProjectExportWriter of(ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return format == ExportFormat.CSV ? new Csv(out) : new NdJson(out, objectMapper);
+    }
+
+    abstract void write(ProjectVO project) throws IOException;
+
+    void finish() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * 每行一个与列表接口相同结构的 JSON 对象，整个导出共用一个 JSON 生成器
+     */
+    private static final class NdJson extends ProjectExportWriter {
+        private final SequenceWriter sequenceWriter;
+        private boolean empty = true;
+
+        NdJson(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            super(out);
+            this.sequenceWriter = objectMapper.writerFor(ProjectVO.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(writer);
+        }
+
+        @Override
+        void write(ProjectVO project) throws IOException {
+            sequenceWriter.write(project);
+            empty = false;
+        }
+
+        @Override
+        void finish() throws IOException {
+            sequenceWriter.flush();
+            if (!empty) {
+                writer.write('\n');
+            }
+            super.finish();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV，首行为表头；status 输出枚举值，时间按服务器时区格式化
+     */
+    private static final class Csv extends ProjectExportWriter {
+        private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter
+                .ofPattern("yyyy-MM-dd HH:mm:ss")
+                .withZone(ZoneId.systemDefault());
+
+        Csv(OutputStream out) throws IOException {
+            super(out);
+            writer.write("id,name,owner,status,createdAt,updatedAt\r\n");
+        }
+
+        @Override
+        void write(ProjectVO project) throws IOException {
+            writer.write(String.valueOf(project.getId()));
+            writer.write(',');
+            writeField(project.getName());
+            writer.write(',');
+            writeField(project.getOwner());
+            writer.write(',');
+            writer.write(project.getStatus() == null ? "" : String.valueOf(project.getStatus().getValue()));
+            writer.write(',');
+            writeField(format(project.getCreatedAt()));
+            writer.write(',');
+            writeField(format(project.getUpdatedAt()));
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private static String format(Date date) {
+            return date == null ? null : DATE_FORMATTER.format(date.toInstant());
+        }
+    }
+}
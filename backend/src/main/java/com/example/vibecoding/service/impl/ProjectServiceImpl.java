@@ -1,26 +1,98 @@
 package com.example.vibecoding.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.vibecoding.cache.ProjectCountCache;
+import com.example.vibecoding.cache.ProjectEntityCache;
 import com.example.vibecoding.common.BusinessException;
 import com.example.vibecoding.common.ErrorCode;
+import com.example.vibecoding.common.PageCursor;
+import com.example.vibecoding.datasource.ReadOnly;
 import com.example.vibecoding.mapper.ProjectMapper;
 import com.example.vibecoding.model.entity.Project;
+import com.example.vibecoding.model.enums.CountMode;
+import com.example.vibecoding.model.enums.ExportFormat;
+import com.example.vibecoding.model.enums.ProjectSearchMode;
 import com.example.vibecoding.model.request.ProjectCreateRequest;
 import com.example.vibecoding.model.request.ProjectUpdateRequest;
+import com.example.vibecoding.model.vo.BatchItemResultVO;
+import com.example.vibecoding.model.vo.BatchResultVO;
+import com.example.vibecoding.model.vo.CursorPageVO;
+import com.example.vibecoding.model.vo.PageVO;
 import com.example.vibecoding.model.vo.ProjectVO;
 import com.example.vibecoding.service.ProjectService;
 import com.example.vibecoding.util.BeanCopyUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> implements ProjectService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProjectServiceImpl.class);
+
+    /**
+     * 每个方法的耗时，TimedAspect 按 class/method/exception 打标签，SLO 桶见 management.metrics.distribution
+     */
+    private static final String PROJECT_SERVICE_TIMER = "project.service";
+
+    /**
+     * 与 MySQL ngram_token_size 一致，更短的关键字无法命中全文索引
+     */
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    private final ProjectCountCache projectCountCache;
+    private final ProjectEntityCache projectEntityCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ProjectSearchMode searchMode;
+    private final int batchChunkSize;
+    private final int batchMaxItems;
+
+    public ProjectServiceImpl(ProjectCountCache projectCountCache,
+                              ProjectEntityCache projectEntityCache,
+                              TransactionTemplate transactionTemplate,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              @Value("${project.search.mode:LIKE}") ProjectSearchMode searchMode,
+                              @Value("${project.batch.chunk-size:500}") int batchChunkSize,
+                              @Value("${project.batch.max-items:5000}") int batchMaxItems) {
+        this.projectCountCache = projectCountCache;
+        this.projectEntityCache = projectEntityCache;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.searchMode = searchMode;
+        this.batchChunkSize = batchChunkSize;
+        this.batchMaxItems = batchMaxItems;
+    }
+
     @Override
+    @Timed(PROJECT_SERVICE_TIMER)
     public ProjectVO createProject(ProjectCreateRequest request) {
         // 将Request转换为Entity
         Project project = BeanCopyUtil.copy(request, Project.class);
@@ -30,15 +102,18 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         if (!saved) {
             throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "创建项目失败");
         }
+        projectCountCache.invalidateAll();
         
         // 将Entity转换为VO并返回
         return BeanCopyUtil.copy(project, ProjectVO.class);
     }
 
     @Override
+    @Timed(PROJECT_SERVICE_TIMER)
+    @ReadOnly
     public ProjectVO getProjectById(Long id) {
-        // 查询项目
-        Project project = this.getById(id);
+        // 查询项目（优先本地缓存）
+        Project project = projectEntityCache.get(id, this::getById);
         if (project == null) {
             throw new BusinessException(ErrorCode.PROJECT_NOT_FOUND);
         }
@@ -48,7 +123,9 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
     }
 
     @Override
-    public IPage<ProjectVO> getProjectList(int page, int size, String keyword) {
+    @Timed(PROJECT_SERVICE_TIMER)
+    @ReadOnly
+    public PageVO<ProjectVO> getProjectList(int page, int size, String keyword, CountMode countMode) {
         // 验证参数
         if (page < 1) {
             page = 1;
@@ -60,28 +137,88 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         }
         
         // 创建分页对象
-        Page<Project> projectPage = new Page<>(page, size);
+        PageVO<Project> projectPage = new PageVO<>(page, size);
         projectPage.addOrder(OrderItem.desc("created_at"));
         
-        // 构建查询条件
-        LambdaQueryWrapper<Project> queryWrapper = new LambdaQueryWrapper<>();
-        if (StringUtils.isNotBlank(keyword)) {
-            queryWrapper.like(Project::getName, keyword)
-                       .or()
-                       .like(Project::getOwner, keyword);
-        }
+        // 构建查询条件（总数缓存与查询使用同一个规范化后的关键字）
+        String normalizedKeyword = normalizeKeyword(keyword);
+        LambdaQueryWrapper<Project> queryWrapper = buildKeywordQuery(normalizedKeyword);
         
         // 执行分页查询
-        IPage<Project> resultPage = this.page(projectPage, queryWrapper);
+        switch (countMode) {
+            case NONE:
+                // 不统计总数，多取一条判断是否有下一页
+                List<Project> projects = this.list(queryWrapper
+                        .orderByDesc(Project::getCreatedAt)
+                        .last("LIMIT " + projectPage.offset() + "," + (size + 1)));
+                projectPage.setHasNext(projects.size() > size);
+                projectPage.setRecords(projects.size() > size ? projects.subList(0, size) : projects);
+                projectPage.setTotal(-1);
+                break;
+            case ESTIMATE:
+                projectPage.setSearchCount(false);
+                this.page(projectPage, queryWrapper);
+                projectPage.setTotal(projectCountCache.get(normalizedKeyword,
+                        () -> this.count(buildKeywordQuery(normalizedKeyword))));
+                projectPage.setHasNext(projectPage.getCurrent() < projectPage.getPages());
+                break;
+            default:
+                this.page(projectPage, queryWrapper);
+                projectPage.setHasNext(projectPage.getCurrent() < projectPage.getPages());
+                break;
+        }
         
-        // 将Entity Page转换为VO Page并返回
-        return resultPage.convert(project -> BeanCopyUtil.copy(project, ProjectVO.class));
+        // 将Entity Page转换为VO Page并返回（convert 复用同一个分页对象）
+        return (PageVO<ProjectVO>) projectPage.convert(project -> BeanCopyUtil.copy(project, ProjectVO.class));
+    }
+
+    @Override
+    @Timed(PROJECT_SERVICE_TIMER)
+    @ReadOnly
+    public CursorPageVO<ProjectVO> getProjectListByCursor(String cursor, int size, String keyword, boolean withTotal) {
+        size = Math.max(1, Math.min(size, 100));
+
+        // 按 (created_at, id) 倒序seek，走 idx_deleted_created_id 索引，页深不影响耗时
+        String normalizedKeyword = normalizeKeyword(keyword);
+        LambdaQueryWrapper<Project> queryWrapper = buildKeywordQuery(normalizedKeyword);
+        if (StringUtils.isNotBlank(cursor)) {
+            PageCursor position = PageCursor.decode(cursor);
+            // 等价于 (created_at, id) < (?, ?)
+            queryWrapper.and(w -> w.lt(Project::getCreatedAt, position.getCreatedAt())
+                    .or(o -> o.eq(Project::getCreatedAt, position.getCreatedAt())
+                            .lt(Project::getId, position.getId())));
+        }
+        queryWrapper.orderByDesc(Project::getCreatedAt)
+                .orderByDesc(Project::getId)
+                // 多取一条用于判断是否有下一页，不执行COUNT
+                .last("LIMIT " + (size + 1));
+        List<Project> projects = this.list(queryWrapper);
+
+        boolean hasNext = projects.size() > size;
+        if (hasNext) {
+            projects = projects.subList(0, size);
+        }
+        CursorPageVO<ProjectVO> result = new CursorPageVO<>();
+        result.setRecords(projects.stream()
+                .map(project -> BeanCopyUtil.copy(project, ProjectVO.class))
+                .collect(Collectors.toList()));
+        result.setSize(size);
+        result.setHasNext(hasNext);
+        if (hasNext) {
+            Project last = projects.get(projects.size() - 1);
+            result.setNextCursor(new PageCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        if (withTotal) {
+            result.setTotal(this.count(buildKeywordQuery(normalizedKeyword)));
+        }
+        return result;
     }
 
     @Override
+    @Timed(PROJECT_SERVICE_TIMER)
     public ProjectVO updateProject(ProjectUpdateRequest request) {
         // 检查项目是否存在
-        Project existingProject = this.getById(request.getId());
+        Project existingProject = projectEntityCache.getFromPrimary(request.getId(), this::getById);
         if (existingProject == null) {
             throw new BusinessException(ErrorCode.PROJECT_NOT_FOUND);
         }
@@ -91,26 +228,311 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         
         // 更新项目
         boolean updated = this.updateById(project);
+        projectEntityCache.invalidate(request.getId());
         if (!updated) {
             throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "更新项目失败");
         }
+        projectCountCache.invalidateAll();
         
-        // 查询更新后的项目
-        Project updatedProject = this.getById(request.getId());
+        // 以更新前的行合并本次写入的字段作为更新后的项目，不再回查数据库
+        Project updatedProject = merge(existingProject, project);
         
         // 将Entity转换为VO并返回
         return BeanCopyUtil.copy(updatedProject, ProjectVO.class);
     }
 
     @Override
+    @Timed(PROJECT_SERVICE_TIMER)
     public boolean deleteProject(Long id) {
         // 检查项目是否存在
-        Project existingProject = this.getById(id);
+        Project existingProject = projectEntityCache.getFromPrimary(id, this::getById);
         if (existingProject == null) {
             throw new BusinessException(ErrorCode.PROJECT_NOT_FOUND);
         }
         
         // 逻辑删除项目
-        return this.removeById(id);
+        boolean removed = this.removeById(id);
+        projectEntityCache.invalidate(id);
+        projectCountCache.invalidateAll();
+        return removed;
+    }
+
+    @Override
+    @Timed(PROJECT_SERVICE_TIMER)
+    public BatchResultVO createProjects(List<ProjectCreateRequest> requests, boolean atomic) {
+        checkBatchSize(requests);
+        List<BatchItemResultVO> results = new ArrayList<>(requests.size());
+        List<Integer> indexes = new ArrayList<>();
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String violation = validate(requests.get(i));
+            if (violation != null) {
+                results.add(BatchItemResultVO.failure(i, null, ErrorCode.PARAM_VALIDATION_FAILED, violation));
+                continue;
+            }
+            indexes.add(i);
+            projects.add(BeanCopyUtil.copy(requests.get(i), Project.class));
+        }
+
+        writeInChunks(indexes, projects, atomic, results, Project::getId,
+                chunk -> this.saveBatch(chunk, chunk.size()),
+                project -> {
+                    // 批次回滚后重试单条，丢弃批次中回填的id
+                    project.setId(null);
+                    return this.save(project);
+                });
+        projectCountCache.invalidateAll();
+        return BatchResultVO.of(results);
+    }
+
+    @Override
+    @Timed(PROJECT_SERVICE_TIMER)
+    public BatchResultVO updateProjects(List<ProjectUpdateRequest> requests, boolean atomic) {
+        checkBatchSize(requests);
+        List<BatchItemResultVO> results = new ArrayList<>(requests.size());
+        Set<Long> existingIds = existingIds(requests.stream()
+                .filter(Objects::nonNull)
+                .map(ProjectUpdateRequest::getId)
+                .collect(Collectors.toList()));
+        List<Integer> indexes = new ArrayList<>();
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ProjectUpdateRequest request = requests.get(i);
+            String violation = validate(request);
+            if (violation != null) {
+                results.add(BatchItemResultVO.failure(i, request == null ? null : request.getId(),
+                        ErrorCode.PARAM_VALIDATION_FAILED, violation));
+            } else if (!existingIds.contains(request.getId())) {
+                results.add(BatchItemResultVO.failure(i, request.getId(), ErrorCode.PROJECT_NOT_FOUND,
+                        ErrorCode.PROJECT_NOT_FOUND.getMessage()));
+            } else {
+                indexes.add(i);
+                projects.add(BeanCopyUtil.copy(request, Project.class));
+            }
+        }
+
+        writeInChunks(indexes, projects, atomic, results, Project::getId,
+                chunk -> this.updateBatchById(chunk, chunk.size()),
+                this::updateById);
+        projects.forEach(project -> projectEntityCache.invalidate(project.getId()));
+        projectCountCache.invalidateAll();
+        return BatchResultVO.of(results);
+    }
+
+    @Override
+    @Timed(PROJECT_SERVICE_TIMER)
+    public BatchResultVO deleteProjects(List<Long> ids, boolean atomic) {
+        checkBatchSize(ids);
+        List<BatchItemResultVO> results = new ArrayList<>(ids.size());
+        Set<Long> existingIds = existingIds(ids);
+        List<Integer> indexes = new ArrayList<>();
+        List<Long> deleteIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (!existingIds.contains(id)) {
+                results.add(BatchItemResultVO.failure(i, id, ErrorCode.PROJECT_NOT_FOUND,
+                        ErrorCode.PROJECT_NOT_FOUND.getMessage()));
+                continue;
+            }
+            indexes.add(i);
+            deleteIds.add(id);
+        }
+
+        // 逻辑删除为单条 UPDATE ... WHERE id IN (...)，按批次拆分即可
+        writeInChunks(indexes, deleteIds, atomic, results, Function.identity(),
+                this::removeByIds,
+                this::removeById);
+        deleteIds.forEach(projectEntityCache::invalidate);
+        projectCountCache.invalidateAll();
+        return BatchResultVO.of(results);
+    }
+
+    @Override
+    @Timed(PROJECT_SERVICE_TIMER)
+    @ReadOnly
+    public long exportProjects(String keyword, ExportFormat format, OutputStream out) throws IOException {
+        ProjectExportWriter writer = ProjectExportWriter.of(format, out, objectMapper);
+        // 自定义SQL需显式加上逻辑删除条件
+        LambdaQueryWrapper<Project> queryWrapper = buildKeywordQuery(normalizeKeyword(keyword))
+                .eq(Project::getDeleted, 0)
+                .orderByDesc(Project::getCreatedAt)
+                .orderByDesc(Project::getId);
+        long[] rows = {0};
+        try {
+            baseMapper.streamProjects(queryWrapper, context -> {
+                try {
+                    writer.write(BeanCopyUtil.copy(context.getResultObject(), ProjectVO.class));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+        } catch (RuntimeException e) {
+            // 客户端断开等写出失败，按 IOException 抛出
+            IOException ioException = ExceptionUtils.throwableOfType(e, IOException.class);
+            if (ioException != null) {
+                throw ioException;
+            }
+            throw e;
+        }
+        writer.finish();
+        return rows[0];
+    }
+
+    /**
+     * 按 chunk-size 分批写入并记录逐条结果
+     * 非 atomic：每批独立事务，某批失败时回滚该批并逐条重试，定位具体失败的条目；
+     * atomic：已有条目失败时直接跳过写入，否则所有批次在同一事务中执行，任一失败整体回滚
+     * @param singleWriter 单条写入，返回 false 视为项目不存在
+     */
+    private <E> void writeInChunks(List<Integer> indexes, List<E> elements, boolean atomic,
+                                   List<BatchItemResultVO> results, Function<E, Long> idOf,
+                                   Consumer<List<E>> batchWriter, Predicate<E> singleWriter) {
+        if (atomic) {
+            if (!results.isEmpty()) {
+                for (int i = 0; i < elements.size(); i++) {
+                    results.add(skipped(indexes.get(i), idOf.apply(elements.get(i))));
+                }
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int from = 0; from < elements.size(); from += batchChunkSize) {
+                        batchWriter.accept(elements.subList(from, Math.min(from + batchChunkSize, elements.size())));
+                    }
+                });
+                for (int i = 0; i < elements.size(); i++) {
+                    results.add(BatchItemResultVO.success(indexes.get(i), idOf.apply(elements.get(i))));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Atomic project batch rolled back: {}", ExceptionUtils.getRootCauseMessage(e));
+                for (int i = 0; i < elements.size(); i++) {
+                    results.add(BatchItemResultVO.failure(indexes.get(i), null, ErrorCode.INTERNAL_SERVER_ERROR,
+                            "批量写入失败，已整体回滚: " + ExceptionUtils.getRootCauseMessage(e)));
+                }
+            }
+            return;
+        }
+
+        for (int from = 0; from < elements.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, elements.size());
+            List<E> chunk = elements.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> batchWriter.accept(chunk));
+                for (int i = from; i < to; i++) {
+                    results.add(BatchItemResultVO.success(indexes.get(i), idOf.apply(elements.get(i))));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Project batch chunk [{}, {}) failed, retrying item by item: {}",
+                        from, to, ExceptionUtils.getRootCauseMessage(e));
+                for (int i = from; i < to; i++) {
+                    results.add(writeSingle(indexes.get(i), elements.get(i), idOf, singleWriter));
+                }
+            }
+        }
+    }
+
+    private <E> BatchItemResultVO writeSingle(int index, E element, Function<E, Long> idOf, Predicate<E> singleWriter) {
+        try {
+            if (singleWriter.test(element)) {
+                return BatchItemResultVO.success(index, idOf.apply(element));
+            }
+            return BatchItemResultVO.failure(index, idOf.apply(element), ErrorCode.PROJECT_NOT_FOUND,
+                    ErrorCode.PROJECT_NOT_FOUND.getMessage());
+        } catch (RuntimeException e) {
+            return BatchItemResultVO.failure(index, idOf.apply(element), ErrorCode.INTERNAL_SERVER_ERROR,
+                    ExceptionUtils.getRootCauseMessage(e));
+        }
+    }
+
+    private static BatchItemResultVO skipped(int index, Long id) {
+        return BatchItemResultVO.failure(index, id, ErrorCode.BATCH_ITEM_SKIPPED, ErrorCode.BATCH_ITEM_SKIPPED.getMessage());
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items.size() > batchMaxItems) {
+            throw new BusinessException(ErrorCode.REQUEST_PARAM_ERROR, "单次批量最多" + batchMaxItems + "条");
+        }
+    }
+
+    /**
+     * 与接口上 @Validated 相同的校验规则，返回拼接后的错误信息，校验通过返回 null
+     */
+    private String validate(Object item) {
+        if (item == null) {
+            return "批量条目不能为空";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * 查询仍存在（未逻辑删除）的项目id
+     */
+    private Set<Long> existingIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinctIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < distinctIds.size(); from += batchChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + batchChunkSize, distinctIds.size()));
+            this.list(new LambdaQueryWrapper<Project>().select(Project::getId).in(Project::getId, chunk))
+                    .forEach(project -> existing.add(project.getId()));
+        }
+        return existing;
+    }
+
+    /**
+     * updateById 只更新非null字段，合并规则与之相同（updatedAt 已由 MyMetaObjectHandler 填充）
+     */
+    private static Project merge(Project existing, Project written) {
+        Project merged = BeanCopyUtil.copy(existing, Project.class);
+        if (written.getName() != null) {
+            merged.setName(written.getName());
+        }
+        if (written.getOwner() != null) {
+            merged.setOwner(written.getOwner());
+        }
+        if (written.getStatus() != null) {
+            merged.setStatus(written.getStatus());
+        }
+        if (written.getUpdatedAt() != null) {
+            merged.setUpdatedAt(written.getUpdatedAt());
+        }
+        return merged;
+    }
+
+    /**
+     * 去掉首尾空白，空白关键字视为无关键字（返回 null）
+     */
+    static String normalizeKeyword(String keyword) {
+        return StringUtils.trimToNull(keyword);
+    }
+
+    /**
+     * 关键字过滤条件：名称或负责人包含关键字，keyword 需已经过 {@link #normalizeKeyword} 规范化
+     * FULLTEXT 模式下使用 ft_name_owner 索引做短语匹配，排序与分页方式不变
+     */
+    LambdaQueryWrapper<Project> buildKeywordQuery(String keyword) {
+        LambdaQueryWrapper<Project> queryWrapper = new LambdaQueryWrapper<>();
+        if (StringUtils.isBlank(keyword)) {
+            return queryWrapper;
+        }
+        String phrase = StringUtils.remove(keyword, '"');
+        if (searchMode == ProjectSearchMode.FULLTEXT && phrase.length() >= NGRAM_TOKEN_SIZE) {
+            queryWrapper.apply("MATCH(name, owner) AGAINST({0} IN BOOLEAN MODE)", "\"" + phrase + "\"");
+        } else {
+            queryWrapper.and(w -> w.like(Project::getName, keyword)
+                    .or()
+                    .like(Project::getOwner, keyword));
+        }
+        return queryWrapper;
     }
 }
\ No newline at end of file
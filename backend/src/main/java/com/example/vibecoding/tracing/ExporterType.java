@@ -0,0 +1,20 @@
+package com.example.vibecoding.tracing;
+
+/**
+ * 内置导出器类型，也可以自行注册 {@link SpanExporter} Bean 替换
+ */
+public enum ExporterType {
+    /**
+     * 以 JSON 输出到 tracing.spans 日志
+     */
+    LOG,
+    /**
+     * 以 JSON Lines 追加写入文件
+     */
+    FILE,
+    /**
+     * 保留在内存中（测试、本地排查）
+     */
+    MEMORY,
+    NONE
+}
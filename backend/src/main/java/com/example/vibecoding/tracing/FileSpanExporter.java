@@ -0,0 +1,60 @@
+package com.example.vibecoding.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 以 JSON Lines 追加写入本地文件，每个 span 一行并立即刷盘，适合本地排查，不建议高采样率下使用
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileSpanExporter(ObjectMapper objectMapper, Path file) throws IOException {
+        this.objectMapper = objectMapper;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void export(Span span) {
+        try {
+            String line = objectMapper.writeValueAsString(span);
+            lock.lock();
+            try {
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
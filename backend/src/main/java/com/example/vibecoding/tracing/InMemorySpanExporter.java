@@ -0,0 +1,44 @@
+package com.example.vibecoding.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 内存导出器，最多保留 capacity 个 span，超出时丢弃最早的
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void export(Span span) {
+        spans.offer(span);
+        if (size.incrementAndGet() > capacity && spans.poll() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    public List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public List<Span> getSpans(String traceId) {
+        return spans.stream().filter(span -> traceId.equals(span.getTraceId())).collect(Collectors.toList());
+    }
+
+    public void clear() {
+        while (spans.poll() != null) {
+            size.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.vibecoding.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 以 JSON 输出到名为 tracing.spans 的日志，可单独配置日志级别与输出文件
+ */
+public class LoggingSpanExporter implements SpanExporter {
+
+    private static final Logger spanLogger = LoggerFactory.getLogger("tracing.spans");
+
+    private final ObjectMapper objectMapper;
+
+    public LoggingSpanExporter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void export(Span span) {
+        if (!spanLogger.isInfoEnabled()) {
+            return;
+        }
+        try {
+            spanLogger.info(objectMapper.writeValueAsString(span));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.vibecoding.tracing;
+
+/**
+ * 采样决策，只在根 span 上做一次，子 span 继承
+ */
+@FunctionalInterface
+public interface Sampler {
+
+    Sampler ALWAYS = traceId -> true;
+    Sampler NEVER = traceId -> false;
+
+    boolean isSampled(String traceId);
+
+    /**
+     * 按比例采样：由 traceId 的哈希决定，同一个 traceId 在各实例上的决策一致
+     * @param rate 采样率 0~1
+     */
+    static Sampler ratio(double rate) {
+        if (rate <= 0) {
+            return NEVER;
+        }
+        if (rate >= 1) {
+            return ALWAYS;
+        }
+        int threshold = (int) (rate * 10000);
+        return traceId -> (traceId.hashCode() & Integer.MAX_VALUE) % 10000 < threshold;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.vibecoding.tracing;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 一段计时的操作
+ * 起止时间用 System.nanoTime 计算耗时，墙钟时间只用于展示；标签可在任意线程设置，end 之后的设置被忽略；
+ * 未采样的 span 统一为 {@link #NOOP}，所有操作都是空操作
+ */
+public class Span {
+
+    public static final Span NOOP = new Span(null, null, null, null, null, null);
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final SpanKind kind;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private final AtomicBoolean ended = new AtomicBoolean();
+
+    private final Map<String, String> tags;
+    private String error;
+    private long durationNanos;
+
+    Span(Tracer tracer, String traceId, String spanId, String parentSpanId, String name, SpanKind kind) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startEpochMicros = tracer == null ? 0L : TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.startNanos = tracer == null ? 0L : System.nanoTime();
+        this.tags = tracer == null ? Collections.emptyMap() : new ConcurrentHashMap<>();
+    }
+
+    public boolean isSampled() {
+        return tracer != null;
+    }
+
+    public Span tag(String key, Object value) {
+        if (tracer != null && value != null && !ended.get()) {
+            tags.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    public void end() {
+        end(null);
+    }
+
+    /**
+     * 结束并导出，可在任意线程调用，重复调用只有第一次生效
+     */
+    public void end(Throwable e) {
+        if (tracer == null || !ended.compareAndSet(false, true)) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        if (e != null) {
+            error = e.getClass().getSimpleName();
+        }
+        tracer.export(this);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SpanKind getKind() {
+        return kind;
+    }
+
+    public long getStartEpochMicros() {
+        return startEpochMicros;
+    }
+
+    public long getDurationMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(durationNanos);
+    }
+
+    public Map<String, String> getTags() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    public String getError() {
+        return error;
+    }
+}
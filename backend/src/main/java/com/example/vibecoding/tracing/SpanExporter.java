@@ -0,0 +1,13 @@
+package com.example.vibecoding.tracing;
+
+/**
+ * Span 导出器，在结束 span 的线程上同步调用，实现需要线程安全且尽量轻量
+ */
+public interface SpanExporter extends AutoCloseable {
+
+    void export(Span span);
+
+    @Override
+    default void close() {
+    }
+}
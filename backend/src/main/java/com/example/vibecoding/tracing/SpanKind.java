@@ -0,0 +1,19 @@
+package com.example.vibecoding.tracing;
+
+/**
+ * Span 类型
+ */
+public enum SpanKind {
+    /**
+     * 处理入站请求
+     */
+    SERVER,
+    /**
+     * 出站调用（HTTP、数据库）
+     */
+    CLIENT,
+    /**
+     * 进程内步骤（重试尝试、签名等）
+     */
+    INTERNAL
+}
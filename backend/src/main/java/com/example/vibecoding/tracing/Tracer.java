@@ -0,0 +1,116 @@
+package com.example.vibecoding.tracing;
+
+import com.example.vibecoding.service.RequestContext;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 进程内链路追踪
+ * 当前 span 保存在 {@link RequestContext} 的扩展属性中，随上下文快照跨线程传递（异步重试、@Async），
+ * 没有当前 span 或未采样时 {@link #startSpan} 返回 {@link Span#NOOP}，不产生任何对象
+ */
+public class Tracer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Tracer.class);
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String SPAN_ID_HEADER = "X-Span-Id";
+    public static final String SAMPLED_HEADER = "X-Trace-Sampled";
+
+    private static final RequestContext.Key<Span> CURRENT_SPAN = RequestContext.Key.of("tracing.span", Span.class);
+
+    private final Sampler sampler;
+    private final SpanExporter exporter;
+    private final RequestContext requestContext = new RequestContext();
+
+    public Tracer(Sampler sampler, SpanExporter exporter) {
+        this.sampler = sampler;
+        this.exporter = exporter;
+    }
+
+    /**
+     * 开始一条链路的根 span（入站请求）
+     * @param parentSpanId 上游传入的 span id，可为空
+     * @param upstreamSampled 上游的采样决策，为空时由本地采样器决定
+     */
+    public Span startRoot(String name, SpanKind kind, String traceId, String parentSpanId, Boolean upstreamSampled) {
+        boolean sampled = upstreamSampled != null ? upstreamSampled : sampler.isSampled(traceId);
+        if (!sampled) {
+            return Span.NOOP;
+        }
+        return new Span(this, traceId, newSpanId(), parentSpanId, name, kind);
+    }
+
+    /**
+     * 开始当前 span 的子 span
+     */
+    public Span startSpan(String name, SpanKind kind) {
+        Span parent = currentSpan();
+        if (parent == null || !parent.isSampled()) {
+            return Span.NOOP;
+        }
+        return new Span(this, parent.getTraceId(), newSpanId(), parent.getSpanId(), name, kind);
+    }
+
+    public Span currentSpan() {
+        return requestContext.get(CURRENT_SPAN);
+    }
+
+    /**
+     * 把 span 设为当前 span，关闭作用域时恢复原来的 span；必须在同一线程关闭，且需要已绑定的请求上下文
+     */
+    public Scope activate(Span span) {
+        if (!span.isSampled() || !requestContext.isBound()) {
+            return Scope.NOOP;
+        }
+        Span previous = requestContext.get(CURRENT_SPAN);
+        requestContext.set(CURRENT_SPAN, span);
+        return () -> requestContext.set(CURRENT_SPAN, previous);
+    }
+
+    /**
+     * 向出站请求头写入链路信息；未采样时仍传递 traceId 与采样决策
+     */
+    public void inject(Span span, HttpHeaders headers) {
+        String traceId = span.isSampled() ? span.getTraceId() : requestContext.getTraceId();
+        if (StringUtils.isEmpty(traceId)) {
+            return;
+        }
+        headers.set(TRACE_ID_HEADER, traceId);
+        headers.set(SAMPLED_HEADER, span.isSampled() ? "1" : "0");
+        if (span.isSampled()) {
+            headers.set(SPAN_ID_HEADER, span.getSpanId());
+        }
+    }
+
+    void export(Span span) {
+        try {
+            exporter.export(span);
+        } catch (RuntimeException e) {
+            // 导出失败不能影响业务
+            logger.warn("Failed to export span {}", span.getName(), e);
+        }
+    }
+
+    private static String newSpanId() {
+        String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return hex.length() == 16 ? hex : StringUtils.leftPad(hex, 16, '0');
+    }
+
+    /**
+     * 当前 span 作用域
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        Scope NOOP = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.vibecoding.tracing;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * RestTemplate 出站请求 span，并把 traceId、span id 与采样决策写入请求头传给下游
+ */
+public class TracingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Tracer tracer;
+
+    public TracingClientHttpRequestInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Span span = tracer.startSpan("HTTP " + request.getMethodValue(), SpanKind.CLIENT);
+        span.tag("http.method", request.getMethodValue())
+                .tag("http.host", request.getURI().getHost())
+                .tag("http.path", request.getURI().getPath());
+        tracer.inject(span, request.getHeaders());
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            span.tag("http.status", response.getRawStatusCode());
+            span.end();
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.end(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.vibecoding.tracing;
+
+import com.example.vibecoding.service.RequestContext;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * 入站请求的链路入口
+ * 读取或生成 traceId，为整个请求绑定 {@link RequestContext}（含 MDC），并开始根 span；
+ * 上游的 X-Trace-Sampled 只在配置为可信时采用，否则任意调用方都能强制全量采样，由本地采样器决定；
+ * 异步请求（字典查询）在异步处理完成时结束根 span
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+
+    private final Tracer tracer;
+    private final boolean trustUpstreamSampled;
+
+    /**
+     * @param trustUpstreamSampled 是否采用入站请求头中的上游采样决策
+     */
+    public TracingFilter(Tracer tracer, boolean trustUpstreamSampled) {
+        this.tracer = tracer;
+        this.trustUpstreamSampled = trustUpstreamSampled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String traceId = request.getHeader(Tracer.TRACE_ID_HEADER);
+        if (StringUtils.isBlank(traceId)) {
+            traceId = UUID.randomUUID().toString().replace("-", "");
+        }
+        String sampled = trustUpstreamSampled ? request.getHeader(Tracer.SAMPLED_HEADER) : null;
+        Span span = tracer.startRoot(request.getMethod() + " " + request.getRequestURI(), SpanKind.SERVER, traceId,
+                request.getHeader(Tracer.SPAN_ID_HEADER), sampled == null ? null : "1".equals(sampled));
+        span.tag("http.method", request.getMethod()).tag("http.path", request.getRequestURI());
+
+        boolean async = false;
+        try (RequestContext.Scope ignored = RequestContext.open(traceId, request.getHeader(USER_ID_HEADER));
+             Tracer.Scope scope = tracer.activate(span)) {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new EndSpanListener(span, response));
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.end(e);
+            throw e;
+        } finally {
+            if (!async) {
+                span.tag("http.status", response.getStatus()).end();
+            }
+        }
+    }
+
+    private static class EndSpanListener implements AsyncListener {
+
+        private final Span span;
+        private final HttpServletResponse response;
+
+        EndSpanListener(Span span, HttpServletResponse response) {
+            this.span = span;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            span.tag("http.status", response.getStatus()).end();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            span.tag("timeout", true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            span.end(event.getThrowable());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
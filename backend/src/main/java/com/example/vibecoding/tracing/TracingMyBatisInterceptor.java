@@ -0,0 +1,53 @@
+package com.example.vibecoding.tracing;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Collection;
+
+/**
+ * 每条 SQL 一个 span（标签为 Mapper 方法与操作类型），只在已采样的链路中记录
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class})
+})
+public class TracingMyBatisInterceptor implements Interceptor {
+
+    private final Tracer tracer;
+
+    public TracingMyBatisInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        Span span = tracer.startSpan("db " + statement.getSqlCommandType().name().toLowerCase(), SpanKind.CLIENT);
+        if (!span.isSampled()) {
+            return invocation.proceed();
+        }
+        span.tag("db.statement", statement.getId());
+        try {
+            Object result = invocation.proceed();
+            span.tag("db.rows", result instanceof Collection ? ((Collection<?>) result).size() : result);
+            span.end();
+            return result;
+        } catch (Throwable e) {
+            span.end(e);
+            throw e;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package com.example.vibecoding.util;
 
-import org.springframework.beans.BeanUtils;
-
 /**
  * Bean复制工具类
  * 用于统一处理Entity、DTO、VO之间的转换
+ * 实际复制由按类型对缓存的 {@link BeanMapper} 完成，语义与 Spring BeanUtils.copyProperties 一致
  */
 public class BeanCopyUtil {
     /**
@@ -13,17 +12,12 @@ public class BeanCopyUtil {
      * @param targetClass 目标对象类型
      * @return 目标对象
      */
+    @SuppressWarnings("unchecked")
     public static <T> T copy(Object source, Class<T> targetClass) {
         if (source == null) {
             return null;
         }
-        try {
-            T target = targetClass.newInstance();
-            BeanUtils.copyProperties(source, target);
-            return target;
-        } catch (InstantiationException | IllegalAccessException e) {
-            throw new RuntimeException("对象复制失败: " + e.getMessage(), e);
-        }
+        return BeanMapper.of((Class<Object>) source.getClass(), targetClass).map(source);
     }
     
     /**
@@ -31,10 +25,11 @@ public class BeanCopyUtil {
      * @param source 源对象
      * @param target 目标对象
      */
+    @SuppressWarnings("unchecked")
     public static void copy(Object source, Object target) {
         if (source == null || target == null) {
             return;
         }
-        BeanUtils.copyProperties(source, target);
+        BeanMapper.of((Class<Object>) source.getClass(), (Class<Object>) target.getClass()).copy(source, target);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,208 @@
+package com.example.vibecoding.util;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 按 (源类型, 目标类型) 缓存的属性复制器
+ * 属性匹配规则与 Spring {@link BeanUtils#copyProperties(Object, Object)} 相同：同名、源可读、目标可写、类型可赋值，
+ * null 值同样会被复制；区别在于内省只在首次构建时做一次，之后通过 LambdaMetafactory 生成的 getter/setter 直接调用
+ */
+public final class BeanMapper<S, T> {
+
+    private static final ClassValue<Map<Class<?>, BeanMapper<?, ?>>> MAPPERS =
+            new ClassValue<Map<Class<?>, BeanMapper<?, ?>>>() {
+                @Override
+                protected Map<Class<?>, BeanMapper<?, ?>> computeValue(Class<?> sourceClass) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Supplier<T> instantiator;
+    private final PropertyCopier[] copiers;
+
+    private BeanMapper(Class<S> sourceClass, Class<T> targetClass) {
+        this.instantiator = instantiator(targetClass);
+        this.copiers = copiers(sourceClass, targetClass);
+    }
+
+    /**
+     * 获取（或构建）指定类型对的复制器
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> BeanMapper<S, T> of(Class<S> sourceClass, Class<T> targetClass) {
+        return (BeanMapper<S, T>) MAPPERS.get(sourceClass)
+                .computeIfAbsent(targetClass, k -> new BeanMapper<>(sourceClass, targetClass));
+    }
+
+    /**
+     * 创建目标对象并复制属性
+     */
+    public T map(S source) {
+        if (source == null) {
+            return null;
+        }
+        T target = instantiator.get();
+        copy(source, target);
+        return target;
+    }
+
+    /**
+     * 复制属性到已存在的目标对象
+     */
+    public void copy(S source, T target) {
+        for (PropertyCopier copier : copiers) {
+            copier.copy(source, target);
+        }
+    }
+
+    private static <T> Supplier<T> instantiator(Class<T> targetClass) {
+        Constructor<T> constructor;
+        try {
+            constructor = targetClass.getConstructor();
+        } catch (NoSuchMethodException e) {
+            constructor = null;
+        }
+        if (constructor == null || Modifier.isAbstract(targetClass.getModifiers())) {
+            return () -> {
+                throw new RuntimeException("对象复制失败: " + targetClass.getName() + " 没有可用的无参构造器");
+            };
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    lookup.unreflectConstructor(constructor),
+                    MethodType.methodType(targetClass));
+            @SuppressWarnings("unchecked")
+            Supplier<T> supplier = (Supplier<T>) site.getTarget().invoke();
+            return supplier;
+        } catch (Throwable e) {
+            Constructor<T> reflective = constructor;
+            return () -> {
+                try {
+                    return reflective.newInstance();
+                } catch (ReflectiveOperationException ex) {
+                    throw new RuntimeException("对象复制失败: " + ex.getMessage(), ex);
+                }
+            };
+        }
+    }
+
+    private static PropertyCopier[] copiers(Class<?> sourceClass, Class<?> targetClass) {
+        List<PropertyCopier> copiers = new ArrayList<>();
+        for (PropertyDescriptor targetPd : BeanUtils.getPropertyDescriptors(targetClass)) {
+            Method writeMethod = targetPd.getWriteMethod();
+            if (writeMethod == null) {
+                continue;
+            }
+            PropertyDescriptor sourcePd = BeanUtils.getPropertyDescriptor(sourceClass, targetPd.getName());
+            Method readMethod = sourcePd == null ? null : sourcePd.getReadMethod();
+            if (readMethod == null || !isAssignable(readMethod, writeMethod)) {
+                continue;
+            }
+            copiers.add(new PropertyCopier(targetPd.getName(), getter(readMethod), setter(writeMethod)));
+        }
+        return copiers.toArray(new PropertyCopier[0]);
+    }
+
+    /**
+     * 与 BeanUtils.copyProperties 相同的类型判断：泛型可解析时按 ResolvableType，否则按原始类型
+     */
+    private static boolean isAssignable(Method readMethod, Method writeMethod) {
+        ResolvableType sourceType = ResolvableType.forMethodReturnType(readMethod);
+        ResolvableType targetType = ResolvableType.forMethodParameter(writeMethod, 0);
+        return sourceType.hasUnresolvableGenerics() || targetType.hasUnresolvableGenerics()
+                ? ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType())
+                : targetType.isAssignableFrom(sourceType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method readMethod) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(readMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(readMethod.getReturnType()),
+                            readMethod.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            // 非public类等无法生成lambda的情况，退回反射调用
+            readMethod.setAccessible(true);
+            return source -> {
+                try {
+                    return readMethod.invoke(source);
+                } catch (ReflectiveOperationException ex) {
+                    throw new FatalBeanException("Could not read property from source", ex);
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method writeMethod) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(writeMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, writeMethod.getDeclaringClass(),
+                            ClassUtils.resolvePrimitiveIfNecessary(writeMethod.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            writeMethod.setAccessible(true);
+            return (target, value) -> {
+                try {
+                    writeMethod.invoke(target, value);
+                } catch (ReflectiveOperationException ex) {
+                    throw new FatalBeanException("Could not write property to target", ex);
+                }
+            };
+        }
+    }
+
+    private static final class PropertyCopier {
+        final String name;
+        final Function<Object, Object> getter;
+        final BiConsumer<Object, Object> setter;
+
+        PropertyCopier(String name, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        void copy(Object source, Object target) {
+            try {
+                setter.accept(target, getter.apply(source));
+            } catch (RuntimeException e) {
+                throw new FatalBeanException("Could not copy property '" + name + "' from source to target", e);
+            }
+        }
+    }
+}
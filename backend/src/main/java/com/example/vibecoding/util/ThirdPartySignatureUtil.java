@@ -4,18 +4,12 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.text.SimpleDateFormat;
 import java.util.*;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.util.Base64;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class ThirdPartySignatureUtil {
-    private static final Logger logger = LoggerFactory.getLogger(ThirdPartySignatureUtil.class);
-    private static final String DATE_FORMAT_STRING = "yyyy-MM-dd HH:mm:ss";
-    private static final String TIME_ZONE = "Asia/Shanghai";
     private static final String CHARSET = "UTF-8";
     private static final String ALGORITHM_HMAC_SHA1 = "HmacSHA1";
 
@@ -24,9 +18,7 @@ public class ThirdPartySignatureUtil {
      * @return 格式化的时间戳
      */
     public static String generateTimestamp() {
-        SimpleDateFormat df = new SimpleDateFormat(DATE_FORMAT_STRING);
-        df.setTimeZone(TimeZone.getTimeZone(TIME_ZONE));
-        return df.format(new Date());
+        return ThirdPartySigner.currentTimestamp();
     }
 
     /**
@@ -89,36 +81,18 @@ public class ThirdPartySignatureUtil {
      */
     public static String generateSignature(String httpMethod, String path, Map<String, Object> queryParams, 
                                           String appKey, String appSecret) {
-        try {
-            String timestamp = generateTimestamp();
-            String stringToSign = buildSignString(httpMethod, path, queryParams, appKey, timestamp);
-            return sign(appSecret, stringToSign);
-        } catch (Exception e) {
-            logger.error("Generate signature failed: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to generate signature", e);
-        }
+        ThirdPartySigner signer = ThirdPartySigner.of(appKey, appSecret);
+        String stringToSign = signer.buildSignString(httpMethod, path, queryParams, generateTimestamp());
+        return signer.sign(stringToSign);
     }
 
     /**
      * 生成完整的请求头
+     * 由按凭证缓存的 {@link ThirdPartySigner} 完成，结果与 buildSignString + sign 逐字节一致
      */
     public static Map<String, String> generateHeaders(String appKey, String appSecret, 
                                                      String httpMethod, String path, 
                                                      Map<String, Object> queryParams) {
-        String timestamp = generateTimestamp();
-        Map<String, String> headers = new HashMap<>();
-        headers.put("AppKey", appKey);
-        headers.put("Timestamp", timestamp);
-        
-        try {
-            String stringToSign = buildSignString(httpMethod, path, queryParams, appKey, timestamp);
-            String signature = sign(appSecret, stringToSign);
-            headers.put("Signature", signature);
-        } catch (Exception e) {
-            logger.error("Generate headers failed: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to generate headers", e);
-        }
-        
-        return headers;
+        return ThirdPartySigner.of(appKey, appSecret).generateHeaders(httpMethod, path, queryParams);
     }
 }
\ No newline at end of file
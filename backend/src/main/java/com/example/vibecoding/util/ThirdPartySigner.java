@@ -0,0 +1,206 @@
+package com.example.vibecoding.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 可复用的第三方签名器（每组 appKey/appSecret 一个实例）
+ * 与 {@link ThirdPartySignatureUtil} 的签名结果逐字节一致，但避免了每次调用的重复分配：
+ * Mac 实例池化复用、时间戳按秒缓存、POP 编码单次遍历完成
+ */
+public final class ThirdPartySigner {
+
+    private static final String ALGORITHM_HMAC_SHA1 = "HmacSHA1";
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.of("Asia/Shanghai"));
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final String APP_KEY = "appKey";
+    private static final String TIMESTAMP = "timestamp";
+
+    private static final Map<String, ThirdPartySigner> SIGNERS = new ConcurrentHashMap<>();
+
+    private static volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(Long.MIN_VALUE, null);
+
+    private final String appKey;
+    private final String encodedAppKey;
+    private final SecretKeySpec secretKey;
+    private final Queue<Mac> macPool = new ConcurrentLinkedQueue<>();
+
+    private ThirdPartySigner(String appKey, String appSecret) {
+        this.appKey = appKey;
+        this.encodedAppKey = percentEncode(appKey);
+        // POP要求签名密钥为 appSecret + "&"
+        this.secretKey = new SecretKeySpec((appSecret + "&").getBytes(StandardCharsets.UTF_8), ALGORITHM_HMAC_SHA1);
+    }
+
+    /**
+     * 获取（或创建）指定凭证的签名器
+     */
+    public static ThirdPartySigner of(String appKey, String appSecret) {
+        return SIGNERS.computeIfAbsent(appKey + '\n' + appSecret, k -> new ThirdPartySigner(appKey, appSecret));
+    }
+
+    /**
+     * 生成完整的请求头（AppKey、Timestamp、Signature）
+     */
+    public Map<String, String> generateHeaders(String httpMethod, String path, Map<String, Object> queryParams) {
+        String timestamp = currentTimestamp();
+        Map<String, String> headers = new HashMap<>(4);
+        headers.put("AppKey", appKey);
+        headers.put("Timestamp", timestamp);
+        headers.put("Signature", sign(buildSignString(httpMethod, path, queryParams, timestamp)));
+        return headers;
+    }
+
+    /**
+     * 构造待签名串，规则同 {@link ThirdPartySignatureUtil#buildSignString}
+     */
+    public String buildSignString(String method, String url, Map<String, Object> queryParams, String timestamp) {
+        // 参数Key排序（appKey、timestamp 覆盖同名的业务参数）
+        String[] keys = new String[queryParams.size() + 2];
+        int count = 0;
+        for (String key : queryParams.keySet()) {
+            if (!APP_KEY.equals(key) && !TIMESTAMP.equals(key)) {
+                keys[count++] = key;
+            }
+        }
+        keys[count++] = APP_KEY;
+        keys[count++] = TIMESTAMP;
+        Arrays.sort(keys, 0, count);
+
+        StringBuilder sortedQueryString = new StringBuilder(128);
+        for (int i = 0; i < count; i++) {
+            String key = keys[i];
+            if (i > 0) {
+                sortedQueryString.append('&');
+            }
+            if (APP_KEY.equals(key)) {
+                sortedQueryString.append(APP_KEY).append('=').append(encodedAppKey);
+            } else if (TIMESTAMP.equals(key)) {
+                sortedQueryString.append(TIMESTAMP).append('=');
+                percentEncode(timestamp, sortedQueryString);
+            } else {
+                percentEncode(key, sortedQueryString);
+                sortedQueryString.append('=');
+                percentEncode(queryParams.get(key).toString(), sortedQueryString);
+            }
+        }
+
+        // HTTPMethod + "&" + specialUrlEncode(url) + "&" + specialUrlEncode(sortedQueryString)
+        StringBuilder stringToSign = new StringBuilder(sortedQueryString.length() * 3 / 2 + url.length() + 16);
+        stringToSign.append(method.toUpperCase()).append('&');
+        percentEncode(url, stringToSign);
+        stringToSign.append('&');
+        percentEncode(sortedQueryString, stringToSign);
+        return stringToSign.toString();
+    }
+
+    /**
+     * HmacSHA1 + Base64 签名
+     */
+    public String sign(String stringToSign) {
+        Mac mac = borrowMac();
+        try {
+            byte[] signData = mac.doFinal(stringToSign.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(signData);
+        } finally {
+            macPool.offer(mac);
+        }
+    }
+
+    /**
+     * 当前时间戳（yyyy-MM-dd HH:mm:ss，Asia/Shanghai），同一秒内复用同一个字符串
+     */
+    public static String currentTimestamp() {
+        long epochSecond = Math.floorDiv(System.currentTimeMillis(), 1000L);
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.epochSecond != epochSecond) {
+            cached = new CachedTimestamp(epochSecond, TIMESTAMP_FORMATTER.format(Instant.ofEpochSecond(epochSecond)));
+            cachedTimestamp = cached;
+        }
+        return cached.text;
+    }
+
+    /**
+     * POP 编码：等价于 URLEncoder.encode(value, "UTF-8") 后再把 + 替换为 %20、* 替换为 %2A、%7E 替换回 ~
+     * 即除 A-Z a-z 0-9 - _ . ~ 外的字符均按 UTF-8 字节编码为 %XX
+     */
+    public static String percentEncode(CharSequence value) {
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        percentEncode(value, out);
+        return out.toString();
+    }
+
+    public static void percentEncode(CharSequence value, StringBuilder out) {
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                out.append(c);
+                i++;
+                continue;
+            }
+            if (c < 0x80) {
+                appendEscaped(out, c);
+                i++;
+                continue;
+            }
+            // 连续的非ASCII字符整体按UTF-8编码（非法代理对按 '?' 处理，与 URLEncoder 一致）
+            int start = i;
+            while (i < length && value.charAt(i) >= 0x80) {
+                i++;
+            }
+            byte[] bytes = value.subSequence(start, i).toString().getBytes(StandardCharsets.UTF_8);
+            for (byte b : bytes) {
+                appendEscaped(out, b & 0xFF);
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '_' || c == '.' || c == '~';
+    }
+
+    private static void appendEscaped(StringBuilder out, int b) {
+        out.append('%').append(HEX[b >> 4]).append(HEX[b & 0x0F]);
+    }
+
+    private Mac borrowMac() {
+        Mac mac = macPool.poll();
+        if (mac != null) {
+            return mac;
+        }
+        try {
+            mac = Mac.getInstance(ALGORITHM_HMAC_SHA1);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to init " + ALGORITHM_HMAC_SHA1, e);
+        }
+    }
+
+    private static final class CachedTimestamp {
+        final long epochSecond;
+        final String text;
+
+        CachedTimestamp(long epochSecond, String text) {
+            this.epochSecond = epochSecond;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.vibecoding.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程工具
+ * 项目按 Java 8 编译，虚拟线程相关 API（Java 21+）通过反射调用；运行时不支持时 {@link #isSupported()} 返回 false，
+ * 调用方应回退到平台线程
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR =
+            findMethod(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+    private static final boolean SUPPORTED = probe();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * 配置开启且运行时支持时返回 true；开启但不支持时打印告警并回退到平台线程
+     */
+    public static boolean isEnabled(boolean enabled, String component) {
+        if (enabled && !SUPPORTED) {
+            logger.warn("Virtual threads requested for {} but not supported on Java {}, using platform threads",
+                    component, System.getProperty("java.version"));
+        }
+        return enabled && SUPPORTED;
+    }
+
+    /**
+     * 创建虚拟线程的工厂，线程名为 prefix 加递增序号
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        checkSupported();
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread factory", e);
+        }
+    }
+
+    /**
+     * 每个任务一个虚拟线程的执行器，不排队、不限并发，并发上限由下游资源（连接池、限流）决定
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory(prefix));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * 创建未启动的虚拟线程
+     */
+    public static Thread newThread(String name, Runnable task) {
+        checkSupported();
+        Thread thread = threadFactory(name).newThread(task);
+        thread.setName(name);
+        return thread;
+    }
+
+    private static void checkSupported() {
+        if (!SUPPORTED) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21+, running on "
+                    + System.getProperty("java.version"));
+        }
+    }
+
+    /**
+     * Java 19/20 中虚拟线程是预览特性，方法存在但未开启预览时调用会失败，因此实际创建一次来判断
+     */
+    private static boolean probe() {
+        if (OF_VIRTUAL == null || NEW_THREAD_PER_TASK_EXECUTOR == null) {
+            return false;
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
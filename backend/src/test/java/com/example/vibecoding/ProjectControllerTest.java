@@ -1,8 +1,12 @@
 package com.example.vibecoding;
 
 import com.example.vibecoding.model.enums.ProjectStatusEnum;
+import com.example.vibecoding.model.request.ProjectBatchCreateRequest;
+import com.example.vibecoding.model.request.ProjectBatchUpdateRequest;
 import com.example.vibecoding.model.request.ProjectCreateRequest;
+import com.example.vibecoding.model.request.ProjectUpdateRequest;
 import com.example.vibecoding.service.ProjectService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,8 +18,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -137,4 +147,246 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.code").value(40401))
                 .andExpect(jsonPath("$.message").value("项目不存在"));
     }
-}
\ No newline at end of file
+
+    /**
+     * 测试游标分页：同一秒创建的多条记录按id继续翻页，最后一页没有nextCursor
+     */
+    @Test
+    void testCursorPagination() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            ProjectCreateRequest request = new ProjectCreateRequest();
+            request.setName("游标项目" + i);
+            request.setStatus(ProjectStatusEnum.ACTIVE);
+            projectService.createProject(request);
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/api/projects")
+                        .param("mode", "cursor")
+                        .param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.records.length()").value(2))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.total").doesNotExist())
+                .andReturn();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .path("data").path("nextCursor").asText();
+
+        mockMvc.perform(get("/api/projects")
+                        .param("mode", "cursor")
+                        .param("size", "2")
+                        .param("cursor", nextCursor)
+                        .param("withTotal", "true"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.records.length()").value(1))
+                .andExpect(jsonPath("$.data.records[0].name").value("游标项目1"))
+                .andExpect(jsonPath("$.data.hasNext").value(false))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.data.total").value(3));
+
+        mockMvc.perform(get("/api/projects")
+                        .param("mode", "cursor")
+                        .param("cursor", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(jsonPath("$.code").value(40002));
+    }
+
+    /**
+     * 测试总数统计方式：none 不返回总数但能判断下一页，estimate 在新增后失效重新统计
+     */
+    @Test
+    void testListCountModes() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            ProjectCreateRequest request = new ProjectCreateRequest();
+            request.setName("统计项目" + i);
+            request.setStatus(ProjectStatusEnum.ACTIVE);
+            projectService.createProject(request);
+        }
+
+        mockMvc.perform(get("/api/projects")
+                        .param("size", "2")
+                        .param("countMode", "none"))
+                .andDo(print())
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.records.length()").value(2))
+                .andExpect(jsonPath("$.data.total").value(-1))
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+        mockMvc.perform(get("/api/projects")
+                        .param("page", "2")
+                        .param("size", "2")
+                        .param("countMode", "none"))
+                .andExpect(jsonPath("$.data.records.length()").value(1))
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+
+        mockMvc.perform(get("/api/projects")
+                        .param("size", "2")
+                        .param("countMode", "estimate"))
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+        ProjectCreateRequest request = new ProjectCreateRequest();
+        request.setName("统计项目4");
+        request.setStatus(ProjectStatusEnum.ACTIVE);
+        projectService.createProject(request);
+        mockMvc.perform(get("/api/projects")
+                        .param("size", "2")
+                        .param("countMode", "estimate"))
+                .andExpect(jsonPath("$.data.total").value(4));
+
+        mockMvc.perform(get("/api/projects")
+                        .param("countMode", "unknown"))
+                .andExpect(jsonPath("$.code").value(40002));
+    }
+
+    /**
+     * 测试缓存的项目在更新、删除后同步失效
+     */
+    @Test
+    void testGetProjectAfterUpdateAndDeleteIsNotStale() throws Exception {
+        ProjectCreateRequest request = new ProjectCreateRequest();
+        request.setName("缓存项目");
+        request.setOwner("缓存用户");
+        request.setStatus(ProjectStatusEnum.DRAFT);
+        Long projectId = projectService.createProject(request).getId();
+
+        // 第一次查询写入缓存
+        mockMvc.perform(get("/api/projects/" + projectId))
+                .andExpect(jsonPath("$.data.name").value("缓存项目"));
+
+        ProjectUpdateRequest update = new ProjectUpdateRequest();
+        update.setId(projectId);
+        update.setName("缓存项目-改");
+        update.setStatus(ProjectStatusEnum.ACTIVE);
+        mockMvc.perform(put("/api/projects/" + projectId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andDo(print())
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.name").value("缓存项目-改"))
+                // owner 为null时不更新，与 updateById 的语义一致
+                .andExpect(jsonPath("$.data.owner").value("缓存用户"))
+                .andExpect(jsonPath("$.data.status").value(1));
+        mockMvc.perform(get("/api/projects/" + projectId))
+                .andExpect(jsonPath("$.data.name").value("缓存项目-改"))
+                .andExpect(jsonPath("$.data.owner").value("缓存用户"));
+
+        mockMvc.perform(delete("/api/projects/" + projectId))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/projects/" + projectId))
+                .andExpect(jsonPath("$.code").value(40401));
+    }
+
+    /**
+     * 测试批量创建、更新、删除：失败条目按下标返回，不影响其他条目；atomic 时整体不执行
+     */
+    @Test
+    void testBatchCreateUpdateDelete() throws Exception {
+        List<ProjectCreateRequest> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ProjectCreateRequest request = new ProjectCreateRequest();
+            request.setName(i == 1 ? "" : "批量项目" + i);
+            request.setStatus(ProjectStatusEnum.ACTIVE);
+            items.add(request);
+        }
+        ProjectBatchCreateRequest createRequest = new ProjectBatchCreateRequest();
+        createRequest.setItems(items);
+
+        // atomic：有条目校验失败时全部不写入
+        createRequest.setAtomic(true);
+        mockMvc.perform(post("/api/projects/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andDo(print())
+                .andExpect(jsonPath("$.data.succeeded").value(0))
+                .andExpect(jsonPath("$.data.items[1].code").value(40001))
+                .andExpect(jsonPath("$.data.items[0].code").value(40003));
+        mockMvc.perform(get("/api/projects"))
+                .andExpect(jsonPath("$.data.total").value(0));
+
+        // 非atomic：合法条目写入，失败条目按下标返回
+        createRequest.setAtomic(false);
+        MvcResult created = mockMvc.perform(post("/api/projects/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andDo(print())
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.items[0].success").value(true))
+                .andExpect(jsonPath("$.data.items[1].success").value(false))
+                .andExpect(jsonPath("$.data.items[1].message").value(Matchers.containsString("项目名称不能为空")))
+                .andReturn();
+        JsonNode createdItems = objectMapper.readTree(created.getResponse().getContentAsString()).path("data").path("items");
+        long firstId = createdItems.get(0).path("id").asLong();
+        long thirdId = createdItems.get(2).path("id").asLong();
+
+        ProjectUpdateRequest update = new ProjectUpdateRequest();
+        update.setId(firstId);
+        update.setName("批量项目0-改");
+        update.setStatus(ProjectStatusEnum.ARCHIVED);
+        ProjectUpdateRequest missing = new ProjectUpdateRequest();
+        missing.setId(999999L);
+        missing.setName("不存在");
+        missing.setStatus(ProjectStatusEnum.ARCHIVED);
+        ProjectBatchUpdateRequest updateRequest = new ProjectBatchUpdateRequest();
+        updateRequest.setItems(Arrays.asList(update, missing));
+        mockMvc.perform(put("/api/projects/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andDo(print())
+                .andExpect(jsonPath("$.data.succeeded").value(1))
+                .andExpect(jsonPath("$.data.items[1].code").value(40401));
+        mockMvc.perform(get("/api/projects/" + firstId))
+                .andExpect(jsonPath("$.data.name").value("批量项目0-改"))
+                .andExpect(jsonPath("$.data.status").value(2));
+
+        mockMvc.perform(delete("/api/projects/batch")
+                        .param("ids", firstId + "," + thirdId + ",999999"))
+                .andDo(print())
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.items[2].code").value(40401));
+        mockMvc.perform(get("/api/projects"))
+                .andExpect(jsonPath("$.data.total").value(0));
+    }
+
+    /**
+     * 测试流式导出：只导出未删除且匹配关键字的项目
+     */
+    @Test
+    void testExportProjects() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            ProjectCreateRequest request = new ProjectCreateRequest();
+            request.setName("导出项目" + i);
+            request.setOwner(i == 3 ? "其他" : "导出用户");
+            request.setStatus(ProjectStatusEnum.ACTIVE);
+            Long id = projectService.createProject(request).getId();
+            if (i == 2) {
+                projectService.deleteProject(id);
+            }
+        }
+
+        MvcResult ndjson = mockMvc.perform(get("/api/projects/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String content = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", Matchers.startsWith("application/x-ndjson")))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String[] lines = content.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("导出项目3", objectMapper.readTree(lines[0]).path("name").asText());
+
+        MvcResult csv = mockMvc.perform(get("/api/projects/export")
+                        .param("format", "csv")
+                        .param("keyword", "导出用户"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csvContent = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String[] rows = csvContent.split("\r\n");
+        assertEquals(2, rows.length);
+        assertTrue(rows[1].contains("导出项目1"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.vibecoding.cache;
+
+import com.example.vibecoding.config.DictCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictQueryCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private DictQueryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        DictCacheProperties properties = new DictCacheProperties();
+        properties.setDefaultTtl(Duration.ofSeconds(10));
+        properties.setStaleWindow(Duration.ofSeconds(10));
+        properties.getTtl().put("long_type", Duration.ofSeconds(60));
+        registry = new SimpleMeterRegistry();
+        cache = new DictQueryCache(properties, registry, nanos::get);
+    }
+
+    private static CompletableFuture<Map<String, Object>> result(Object version) {
+        return CompletableFuture.completedFuture(Collections.singletonMap("version", version));
+    }
+
+    private double requests(String result) {
+        return registry.get("dict.cache.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    void testHitWithinTtl() {
+        DictQueryKey key = new DictQueryKey("job_type", 1L, 10L);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(key, () -> result(loads.incrementAndGet()));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        Map<String, Object> value = cache.get(key, () -> result(loads.incrementAndGet())).join();
+
+        assertEquals(1, value.get("version"));
+        assertEquals(1, loads.get());
+        assertEquals(1, requests("miss"));
+        assertEquals(1, requests("hit"));
+    }
+
+    @Test
+    void testStaleServedWhileSingleRefreshRuns() {
+        DictQueryKey key = new DictQueryKey("job_type", 1L, 10L);
+        cache.get(key, () -> result(1));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(15));
+
+        CompletableFuture<Map<String, Object>> pendingRefresh = new CompletableFuture<>();
+        AtomicInteger refreshes = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> value = cache.get(key, () -> {
+                refreshes.incrementAndGet();
+                return pendingRefresh;
+            }).join();
+            // 刷新完成前一直返回旧值
+            assertEquals(1, value.get("version"));
+        }
+        pendingRefresh.complete(Collections.singletonMap("version", 2));
+
+        assertEquals(2, cache.peek(key).get("version"));
+        assertEquals(1, refreshes.get());
+        assertEquals(5, requests("stale"));
+    }
+
+    @Test
+    void testExpiredAfterStaleWindowAndPerTypeTtl() {
+        DictQueryKey shortKey = new DictQueryKey("job_type", 1L, 10L);
+        DictQueryKey longKey = new DictQueryKey("long_type", 1L, 10L);
+        cache.get(shortKey, () -> result(1));
+        cache.get(longKey, () -> result(1));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertNull(cache.peek(shortKey));
+        assertEquals(1, cache.get(longKey, () -> result(2)).join().get("version"));
+        assertEquals(1, requests("hit"));
+    }
+
+    @Test
+    void testInvalidateDictType() {
+        cache.get(new DictQueryKey("job_type", 1L, 10L), () -> result(1));
+        cache.get(new DictQueryKey("job_type", 2L, 10L), () -> result(1));
+        cache.get(new DictQueryKey("other", 1L, 10L), () -> result(1));
+
+        assertEquals(2, cache.invalidate("job_type"));
+        assertNull(cache.peek(new DictQueryKey("job_type", 1L, 10L)));
+        assertNotNull(cache.peek(new DictQueryKey("other", 1L, 10L)));
+    }
+}
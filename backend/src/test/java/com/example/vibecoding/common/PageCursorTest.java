@@ -0,0 +1,29 @@
+package com.example.vibecoding.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        PageCursor cursor = new PageCursor(new Date(1700000000000L), 42L);
+        String encoded = cursor.encode();
+
+        // URL安全，可直接作为查询参数
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        PageCursor decoded = PageCursor.decode(encoded);
+        assertEquals(cursor.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void testInvalidCursorIsParamError() {
+        BusinessException e = assertThrows(BusinessException.class, () -> PageCursor.decode("not-a-cursor"));
+        assertEquals(ErrorCode.REQUEST_PARAM_ERROR.getCode(), e.getCode());
+        assertThrows(BusinessException.class, () -> PageCursor.decode("%%%"));
+    }
+}
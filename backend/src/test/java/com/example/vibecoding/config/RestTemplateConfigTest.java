@@ -0,0 +1,96 @@
+package com.example.vibecoding.config;
+
+import com.example.vibecoding.tracing.Sampler;
+import com.example.vibecoding.tracing.Tracer;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 只加载 RestTemplateConfig，验证连接池的长连接复用与指标导出
+ */
+@SpringJUnitConfig(RestTemplateConfigTest.TestConfig.class)
+public class RestTemplateConfigTest {
+
+    @Configuration
+    @Import(RestTemplateConfig.class)
+    static class TestConfig {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public Tracer tracer() {
+            return new Tracer(Sampler.NEVER, span -> {
+            });
+        }
+    }
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private PoolingHttpClientConnectionManager dictConnectionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/ping"))
+                .willReturn(WireMock.aResponse().withStatus(200).withBody("pong")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void testSequentialCallsReuseOneKeepAliveConnection() {
+        String url = "http://localhost:" + wireMockServer.port() + "/ping";
+        for (int i = 0; i < 5; i++) {
+            assertEquals("pong", restTemplate.getForObject(url, String.class));
+        }
+
+        // 每次响应读完后连接归还连接池，下一次调用复用同一条连接
+        PoolStats stats = dictConnectionManager.getTotalStats();
+        assertEquals(0, stats.getLeased());
+        assertEquals(1, stats.getAvailable());
+        assertEquals(5, wireMockServer.getAllServeEvents().size());
+    }
+
+    @Test
+    public void testPoolMetricsAreRegistered() {
+        assertEquals(200.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "third-party-dict").gauge().value());
+        assertEquals(50.0, meterRegistry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", "third-party-dict").gauge().value());
+        assertNotNull(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "third-party-dict").tag("state", "leased").gauge());
+        assertNotNull(meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                .tag("httpclient", "third-party-dict").gauge());
+    }
+}
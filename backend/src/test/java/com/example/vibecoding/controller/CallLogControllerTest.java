@@ -0,0 +1,144 @@
+package com.example.vibecoding.controller;
+
+import com.example.vibecoding.mapper.ExternalCallLogMapper;
+import com.example.vibecoding.model.entity.ExternalCallLog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:call_log;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+                + ";INIT=RUNSCRIPT FROM 'classpath:h2/schema.sql'",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureMockMvc
+class CallLogControllerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 18, 10, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExternalCallLogMapper externalCallLogMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM external_call_log");
+        List<ExternalCallLog> logs = new ArrayList<>();
+        // 每分钟一次 DICT 调用（奇数分钟失败），另有一条其他服务的调用
+        for (int i = 0; i < 5; i++) {
+            logs.add(newLog("trace-" + i, "DICT", i % 2 == 0 ? 1 : 0, 1, BASE.plusMinutes(i)));
+        }
+        logs.add(newLog("trace-other", "OTHER", 1, 1, BASE.plusMinutes(2)));
+        // 同一 traceId 的三次尝试，写入顺序与 attempt 顺序不同
+        logs.add(newLog("trace-retry", "DICT", 1, 3, BASE.plusHours(2).plusSeconds(4)));
+        logs.add(newLog("trace-retry", "DICT", 0, 1, BASE.plusHours(2)));
+        logs.add(newLog("trace-retry", "DICT", 0, 2, BASE.plusHours(2).plusSeconds(1)));
+        externalCallLogMapper.insertBatch(logs);
+    }
+
+    private static ExternalCallLog newLog(String traceId, String service, int success, int attempt,
+                                          LocalDateTime createdAt) {
+        ExternalCallLog log = new ExternalCallLog();
+        log.setTraceId(traceId);
+        log.setService(service);
+        log.setTargetUrl("http://dict/query");
+        log.setHttpMethod("GET");
+        log.setSuccess(success);
+        log.setAttempt(attempt);
+        log.setDurationMs(10L * attempt);
+        log.setCreatedAt(Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant()));
+        return log;
+    }
+
+    private static MockHttpServletRequestBuilder query(String from, String to) {
+        return get("/api/call-logs").param("from", from).param("to", to);
+    }
+
+    private JsonNode data(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(body).get("data");
+    }
+
+    @Test
+    void testTimeRangeIsRequiredAndBounded() throws Exception {
+        mockMvc.perform(get("/api/call-logs").param("service", "DICT"))
+                .andExpect(jsonPath("$.code").value(40002));
+        mockMvc.perform(query("2026-10-18 10:00:00", "2026-10-18 09:00:00"))
+                .andExpect(jsonPath("$.code").value(40002));
+        mockMvc.perform(query("2026-10-01 00:00:00", "2026-10-18 00:00:00"))
+                .andExpect(jsonPath("$.code").value(40002));
+    }
+
+    @Test
+    void testKeysetPaginationWithFilters() throws Exception {
+        List<String> traceIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = query("2026-10-18 10:00:00", "2026-10-18 11:00:00")
+                    .param("service", "DICT")
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = data(request);
+            page.get("records").forEach(record -> traceIds.add(record.get("traceId").asText()));
+            cursor = page.path("nextCursor").isNull() ? null : page.path("nextCursor").asText(null);
+            pages++;
+        } while (cursor != null);
+
+        // 倒序、不重不漏，不包含其他服务和时间范围外的记录
+        assertEquals(3, pages);
+        assertEquals(Arrays.asList("trace-4", "trace-3", "trace-2", "trace-1", "trace-0"), traceIds);
+
+        JsonNode failures = data(query("2026-10-18 10:00:00", "2026-10-18 11:00:00").param("success", "false"));
+        assertEquals(2, failures.get("records").size());
+        assertFalse(failures.get("hasNext").asBoolean());
+    }
+
+    @Test
+    void testTraceReturnsAttemptsInOrder() throws Exception {
+        JsonNode attempts = data(get("/api/call-logs/trace/{traceId}", "trace-retry"));
+
+        assertEquals(3, attempts.size());
+        for (int i = 0; i < attempts.size(); i++) {
+            assertEquals(i + 1, attempts.get(i).get("attempt").asInt());
+        }
+        assertTrue(data(get("/api/call-logs/trace/{traceId}", "missing")).isEmpty());
+    }
+}
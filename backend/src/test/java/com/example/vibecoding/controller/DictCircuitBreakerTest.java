@@ -0,0 +1,141 @@
+package com.example.vibecoding.controller;
+
+import com.example.vibecoding.common.ErrorCode;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "third-party.dict.base-url=http://localhost:8090/",
+                "third-party.dict.retry.max-attempts=1",
+                "third-party.dict.circuit-breaker.sliding-window-size=2",
+                "third-party.dict.circuit-breaker.minimum-number-of-calls=2",
+                "third-party.dict.circuit-breaker.wait-duration-in-open-ms=60000",
+                "third-party.dict.circuit-breaker.permitted-calls-in-half-open=2",
+                // 新鲜期为0，每次查询都会回源，但仍保留最近一次成功结果
+                "third-party.dict.cache.default-ttl=0s",
+                "third-party.dict.cache.stale-window=0s"
+        })
+public class DictCircuitBreakerTest {
+
+    private static final String API_PATH = "/api/v1/dataapi/execute/dict/query";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(8090));
+        wireMockServer.start();
+        circuitBreakerRegistry.circuitBreaker("DICT_QUERY").reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    private Map<?, ?> query(String dictType) {
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/dict/query?pageNum=1&pageSize=10&dictType=" + dictType, Map.class);
+        return response.getBody();
+    }
+
+    private void stubUpstream(HttpStatus status) {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(API_PATH))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(status.value())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"total\":1,\"data\":[{\"code\":\"1\",\"value\":\"java类\"}]}")));
+    }
+
+    /**
+     * 两次失败打开熔断，再跳过等待期直接进入半开
+     */
+    private CircuitBreaker openThenHalfOpen() {
+        stubUpstream(HttpStatus.INTERNAL_SERVER_ERROR);
+        query("cb_half_open");
+        query("cb_half_open");
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("DICT_QUERY");
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        circuitBreaker.transitionToHalfOpenState();
+        return circuitBreaker;
+    }
+
+    @Test
+    public void testHalfOpenClosesAfterSuccessfulProbes() {
+        CircuitBreaker circuitBreaker = openThenHalfOpen();
+        stubUpstream(HttpStatus.OK);
+
+        assertEquals(0, query("cb_half_open").get("code"));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(0, query("cb_half_open").get("code"));
+        // 半开状态允许的2次探测均成功，熔断关闭
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(4, wireMockServer.getAllServeEvents().size());
+    }
+
+    @Test
+    public void testHalfOpenReopensAfterFailedProbes() {
+        CircuitBreaker circuitBreaker = openThenHalfOpen();
+
+        query("cb_half_open");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        query("cb_half_open");
+        // 探测失败，熔断重新打开，之后没有历史结果的请求快速失败，不再访问第三方
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(4, wireMockServer.getAllServeEvents().size());
+        assertEquals(ErrorCode.DICT_CIRCUIT_OPEN.getCode(), query("cb_no_history").get("code"));
+        assertEquals(4, wireMockServer.getAllServeEvents().size());
+    }
+
+    @Test
+    public void testOpenCircuitServesLastKnownGoodAndShortCircuits() {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(API_PATH))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"total\":1,\"data\":[{\"code\":\"1\",\"value\":\"java类\"}]}")));
+        assertEquals(0, query("cb_type").get("code"));
+
+        // 第三方开始返回500，两次失败后熔断打开
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(API_PATH))
+                .willReturn(WireMock.aResponse().withStatus(HttpStatus.INTERNAL_SERVER_ERROR.value())));
+        query("cb_other");
+        query("cb_other");
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("DICT_QUERY");
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        int upstreamCalls = wireMockServer.getAllServeEvents().size();
+
+        // 熔断期间：有历史结果的返回历史结果，没有的快速失败，均不访问第三方
+        Map<?, ?> fallback = query("cb_type");
+        assertEquals(0, fallback.get("code"));
+        assertEquals(1, ((Map<?, ?>) fallback.get("data")).get("total"));
+        assertEquals(50301, query("cb_other").get("code"));
+        assertEquals(upstreamCalls, wireMockServer.getAllServeEvents().size());
+    }
+}
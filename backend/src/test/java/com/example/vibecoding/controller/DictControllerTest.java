@@ -1,5 +1,6 @@
 package com.example.vibecoding.controller;
 
+import com.example.vibecoding.cache.DictQueryCache;
 import com.example.vibecoding.mapper.ExternalCallLogMapper;
 import com.example.vibecoding.model.entity.ExternalCallLog;
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
@@ -22,7 +24,9 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+@AutoConfigureMetrics
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
         properties = {
                 "third-party.dict.base-url=http://localhost:8089/"
@@ -38,6 +42,9 @@ public class DictControllerTest {
     @Autowired
     private ExternalCallLogMapper externalCallLogMapper;
 
+    @Autowired
+    private DictQueryCache dictQueryCache;
+
     @Value("${third-party.dict.app-key}")
     private String appKey;
 
@@ -53,6 +60,9 @@ public class DictControllerTest {
         wireMockServer.start();
         WireMock.configureFor("localhost", 8089);
 
+        // 清理字典缓存，保证每个用例都会访问模拟的第三方服务
+        dictQueryCache.invalidateAll();
+
         // 测试前清理日志表
         // externalCallLogMapper.delete(null);
     }
@@ -101,6 +111,25 @@ public class DictControllerTest {
         // assertEquals(HttpStatus.OK.value(), log.getHttpStatus().intValue());
     }
 
+    @Test
+    public void testQueryDictExportsTimersToPrometheus() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/v1/dataapi/execute/dict/query"))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"total\":0,\"data\":[]}")));
+
+        restTemplate.getForEntity("http://localhost:" + port
+                + "/api/dict/query?pageNum=1&pageSize=10&dictType=metrics_type", Map.class);
+
+        String scrape = restTemplate.getForObject("http://localhost:" + port + "/actuator/prometheus", String.class);
+        assertNotNull(scrape);
+        // 配置的 SLO 桶与按结果/状态码/尝试次数区分的单次尝试耗时
+        assertTrue(scrape.contains("dict_query_seconds_bucket{outcome=\"success\",le=\"0.25\",}"), scrape);
+        assertTrue(scrape.contains("dict_upstream_attempt_seconds_count{attempt=\"1\",outcome=\"success\",status=\"200\",}"));
+        assertTrue(scrape.contains("retry_scheduled_total{name=\"dict_query\",}"));
+    }
+
     @Test
     public void testQueryDictServerError() {
         // 模拟第三方服务返回500错误，触发重试
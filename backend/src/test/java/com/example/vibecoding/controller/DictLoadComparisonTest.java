@@ -0,0 +1,166 @@
+package com.example.vibecoding.controller;
+
+import com.example.vibecoding.BackendApplication;
+import com.example.vibecoding.util.VirtualThreads;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StreamUtils;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 平台线程与虚拟线程执行模式的压测对比：第三方服务由 WireMock 模拟并固定延迟，分别启动两次应用，日志输出吞吐量与 p99
+ * 默认不执行，运行方式：
+ * mvn -pl backend test -Dtest=DictLoadComparisonTest -Dload.test=true [-Dload.requests=4000 -Dload.concurrency=400 -Dload.upstream-delay-ms=200]
+ * 虚拟线程需要在 Java 21+ 上运行，低版本只输出平台线程结果
+ */
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+class DictLoadComparisonTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DictLoadComparisonTest.class);
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 4000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final int UPSTREAM_DELAY_MS = Integer.getInteger("load.upstream-delay-ms", 200);
+
+    private static final String DICT_RESPONSE = "{\"total\":1,\"data\":[{\"code\":\"1\",\"value\":\"java类\"}],"
+            + "\"totalPage\":1,\"currentPageNum\":1,\"pageSize\":10}";
+
+    @Test
+    void testCompareThreadModes() throws Exception {
+        WireMockServer upstream = new WireMockServer(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()
+                .containerThreads(CONCURRENCY + 50));
+        upstream.start();
+        try {
+            upstream.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/v1/dataapi/execute/dict/query"))
+                    .willReturn(WireMock.aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withFixedDelay(UPSTREAM_DELAY_MS)
+                            .withBody(DICT_RESPONSE)));
+
+            List<Result> results = new ArrayList<>();
+            results.add(run("platform", false, upstream.port()));
+            if (VirtualThreads.isSupported()) {
+                results.add(run("virtual", true, upstream.port()));
+            }
+
+            logger.info("Load comparison, upstream delay: {}ms, requests: {}, concurrent clients: {}",
+                    UPSTREAM_DELAY_MS, REQUESTS, CONCURRENCY);
+            for (Result result : results) {
+                logger.info("mode: {}, throughput: {}/s, p50: {}ms, p99: {}ms, errors: {}", result.mode,
+                        String.format("%.1f", result.throughput), String.format("%.1f", result.p50Ms),
+                        String.format("%.1f", result.p99Ms), result.errors);
+            }
+            for (Result result : results) {
+                assertEquals(0, result.errors, result.mode);
+            }
+        } finally {
+            upstream.stop();
+        }
+    }
+
+    private static Result run(String mode, boolean virtualThreads, int upstreamPort) throws Exception {
+        // 以命令行参数传入，优先级高于 application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class).run(
+                "--server.port=0",
+                "--execution.virtual-threads.enabled=" + virtualThreads,
+                "--third-party.dict.base-url=http://localhost:" + upstreamPort + "/",
+                // 每个请求都访问上游：关闭缓存、放开限流，不做重试
+                "--third-party.dict.cache.enabled=false",
+                "--third-party.dict.rate-limit.capacity=1000000",
+                "--third-party.dict.rate-limit.refill-tokens=1000000",
+                "--third-party.dict.retry.max-attempts=1",
+                "--third-party.dict.pool.max-total=" + (CONCURRENCY * 2),
+                "--third-party.dict.pool.max-per-route=" + (CONCURRENCY * 2));
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            // 预热
+            drive(port, Math.min(REQUESTS, CONCURRENCY * 2));
+            return drive(port, REQUESTS).withMode(mode);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result drive(int port, int requests) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<Long>> latencies = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            // dictType 各不相同，避免请求被合并
+            String url = "http://localhost:" + port + "/api/dict/query?pageNum=1&pageSize=10&dictType=load_" + i;
+            latencies.add(clients.submit(() -> call(url, errors)));
+        }
+        long[] nanos = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            nanos[i] = latencies.get(i).get(5, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+
+        Arrays.sort(nanos);
+        Result result = new Result();
+        result.throughput = requests / (elapsed / 1e9);
+        result.p50Ms = nanos[requests / 2] / 1e6;
+        result.p99Ms = nanos[(int) Math.ceil(requests * 0.99) - 1] / 1e6;
+        result.errors = errors.get();
+        return result;
+    }
+
+    private static long call(String url, AtomicInteger errors) {
+        long start = System.nanoTime();
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(60000);
+            int status = connection.getResponseCode();
+            String body;
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                body = in == null ? "" : StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+            }
+            // 业务错误（限流、熔断、超时）同样以 HTTP 200 返回，按响应码区分
+            if (status != 200 || !body.contains("\"code\":0")) {
+                errors.incrementAndGet();
+            }
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static class Result {
+        String mode;
+        double throughput;
+        double p50Ms;
+        double p99Ms;
+        int errors;
+
+        Result withMode(String mode) {
+            this.mode = mode;
+            return this;
+        }
+    }
+}
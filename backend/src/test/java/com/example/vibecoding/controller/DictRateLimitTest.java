@@ -0,0 +1,76 @@
+package com.example.vibecoding.controller;
+
+import com.example.vibecoding.common.ErrorCode;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "third-party.dict.base-url=http://localhost:8092/",
+                "third-party.dict.retry.max-attempts=1",
+                // 桶内只有2个令牌，测试期间不会补充
+                "third-party.dict.rate-limit.capacity=2",
+                "third-party.dict.rate-limit.refill-tokens=1",
+                "third-party.dict.rate-limit.refill-duration=3600",
+                "third-party.dict.rate-limit.mode=FAIL_FAST"
+        })
+public class DictRateLimitTest {
+
+    private static final String API_PATH = "/api/v1/dataapi/execute/dict/query";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().port(8092));
+        wireMockServer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    private Map<?, ?> query(String dictType) {
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/dict/query?pageNum=1&pageSize=10&dictType=" + dictType, Map.class);
+        return response.getBody();
+    }
+
+    @Test
+    public void testFailFastRejectsWithoutCallingUpstream() {
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(API_PATH))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"total\":0,\"data\":[]}")));
+
+        // 不同 dictType 避免命中缓存
+        assertEquals(0, query("rl_1").get("code"));
+        assertEquals(0, query("rl_2").get("code"));
+        assertEquals(ErrorCode.DICT_RATE_LIMITED.getCode(), query("rl_3").get("code"));
+
+        // 被限流的请求没有发往第三方
+        assertEquals(2, wireMockServer.getAllServeEvents().size());
+    }
+}
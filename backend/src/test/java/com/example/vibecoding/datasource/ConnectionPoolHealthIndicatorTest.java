@@ -0,0 +1,108 @@
+package com.example.vibecoding.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolHealthIndicatorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HikariDataSource oltp;
+    private HikariDataSource callLog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        oltp = pool("oltp", "jdbc:h2:mem:pool_oltp");
+        callLog = pool("call-log", "jdbc:h2:mem:pool_call_log");
+    }
+
+    @AfterEach
+    void tearDown() {
+        oltp.close();
+        callLog.close();
+    }
+
+    private HikariDataSource pool(String name, String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(2000);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+
+    @Test
+    void testWorkloadSelectsPool() throws SQLException {
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(oltp, callLog);
+        dataSource.afterPropertiesSet();
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.getMetaData().getURL().startsWith("jdbc:h2:mem:pool_oltp"));
+        }
+        String url = Workload.CALL_LOG.call(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                return connection.getMetaData().getURL();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(url.startsWith("jdbc:h2:mem:pool_call_log"));
+        assertEquals(Arrays.asList(oltp, callLog), dataSource.getHikariPools());
+    }
+
+    @Test
+    void testExhaustedPoolIsDownAndExported() throws Exception {
+        ConnectionPoolHealthIndicator indicator = new ConnectionPoolHealthIndicator(Arrays.asList(oltp, callLog));
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        try (Connection held = oltp.getConnection()) {
+            CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+                try (Connection ignored = oltp.getConnection()) {
+                    // 等待到前一个连接归还
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            waitForPending(oltp);
+
+            Health health = indicator.health();
+            assertEquals(Status.DOWN, health.getStatus());
+            Map<?, ?> details = (Map<?, ?>) health.getDetails().get("oltp");
+            assertEquals("exhausted", details.get("state"));
+            assertEquals(1, details.get("active"));
+            assertEquals(1, details.get("pending"));
+            assertEquals("not-started", ((Map<?, ?>) health.getDetails().get("call-log")).get("state"));
+
+            assertEquals(1.0, meterRegistry.get("hikaricp.connections.active").tag("pool", "oltp").gauge().value());
+            assertEquals(1.0, meterRegistry.get("hikaricp.connections.pending").tag("pool", "oltp").gauge().value());
+
+            held.close();
+            waiter.get(2, TimeUnit.SECONDS);
+        }
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertTrue(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "oltp").timer().count() >= 2);
+    }
+
+    private static void waitForPending(HikariDataSource pool) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (pool.getHikariPoolMXBean().getThreadsAwaitingConnection() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.vibecoding.datasource;
+
+import com.example.vibecoding.cache.ProjectCountCache;
+import com.example.vibecoding.cache.ProjectEntityCache;
+import com.example.vibecoding.common.BusinessException;
+import com.example.vibecoding.common.ErrorCode;
+import com.example.vibecoding.model.enums.CountMode;
+import com.example.vibecoding.model.enums.ProjectStatusEnum;
+import com.example.vibecoding.model.request.ProjectCreateRequest;
+import com.example.vibecoding.model.request.ProjectUpdateRequest;
+import com.example.vibecoding.model.vo.ProjectVO;
+import com.example.vibecoding.service.ProjectService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * 用三个 H2 内存库模拟一主两从，验证读写路由与连接池指标
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingTest.PRIMARY_URL,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "datasource.routing.enabled=true",
+        "datasource.routing.strategy=ROUND_ROBIN",
+        "datasource.routing.replicas[0].url=" + ReadWriteRoutingTest.REPLICA_0_URL,
+        "datasource.routing.replicas[1].url=" + ReadWriteRoutingTest.REPLICA_1_URL,
+        "project.entity-cache.replica-ttl=200ms"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingTest {
+
+    private static final String H2_OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+            + ";INIT=RUNSCRIPT FROM 'classpath:h2/schema.sql'";
+    static final String PRIMARY_URL = "jdbc:h2:mem:rw_primary" + H2_OPTIONS;
+    static final String REPLICA_0_URL = "jdbc:h2:mem:rw_replica0" + H2_OPTIONS;
+    static final String REPLICA_1_URL = "jdbc:h2:mem:rw_replica1" + H2_OPTIONS;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private WorkloadRoutingDataSource dataSource;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ProjectEntityCache projectEntityCache;
+
+    @Autowired
+    private ProjectCountCache projectCountCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = (ReadWriteRoutingDataSource) dataSource.getTarget(Workload.OLTP);
+        new JdbcTemplate(routingDataSource.getPrimary()).update("DELETE FROM project");
+        List<DataSource> replicas = routingDataSource.getReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            JdbcTemplate replica = new JdbcTemplate(replicas.get(i));
+            replica.update("DELETE FROM project");
+            // 从库数据与主库不同，用于区分查询落在哪个库
+            replica.update("INSERT INTO project (id, name, owner, status, created_at, updated_at, deleted) "
+                    + "VALUES (?, ?, 'replica', 1, NOW(), NOW(), 0)", 1000 + i, "replica-" + i);
+        }
+        projectEntityCache.invalidateAll();
+        projectCountCache.invalidateAll();
+        RoutingContext.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    void testReadsAreBalancedAcrossReplicas() {
+        projectService.createProject(newProject("primary-only"));
+        RoutingContext.clear();
+        long timedBefore = listTimerCount();
+
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            projectService.getProjectList(1, 10, null, CountMode.EXACT).getRecords()
+                    .forEach(project -> names.add(project.getName()));
+        }
+        assertTrue(names.contains("replica-0"));
+        assertTrue(names.contains("replica-1"));
+        assertFalse(names.contains("primary-only"));
+
+        // @Timed 记录每个项目服务方法的耗时
+        assertEquals(timedBefore + 4, listTimerCount());
+    }
+
+    @Test
+    void testReadAfterWriteSticksToPrimaryWithinRequest() throws Exception {
+        ProjectVO created = projectService.createProject(newProject("fresh"));
+
+        // 同一请求内：写后读走主库，能读到刚写入的数据
+        assertEquals("fresh", projectService.getProjectById(created.getId()).getName());
+
+        // 新请求：过滤器清理路由状态，读取回到从库（从库尚未同步这条数据）
+        projectEntityCache.invalidateAll();
+        mockMvc.perform(get("/api/projects/{id}", created.getId()))
+                .andExpect(jsonPath("$.code").value(ErrorCode.PROJECT_NOT_FOUND.getCode()));
+        RoutingContext.clear();
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> projectService.getProjectById(created.getId()));
+        assertEquals(ErrorCode.PROJECT_NOT_FOUND.getCode(), e.getCode());
+    }
+
+    @Test
+    void testReplicaLoadedEntriesAreShortLivedAndNotMergedByWrites() throws Exception {
+        ProjectVO created = projectService.createProject(newProject("v1"));
+        // 从库停留在 v1：复制延迟
+        for (DataSource replica : routingDataSource.getReplicas()) {
+            new JdbcTemplate(replica).update("INSERT INTO project (id, name, owner, status, created_at, updated_at, "
+                    + "deleted) VALUES (?, 'v1', 'owner', 1, NOW(), NOW(), 0)", created.getId());
+        }
+        ProjectUpdateRequest rename = new ProjectUpdateRequest();
+        rename.setId(created.getId());
+        rename.setName("v2");
+        projectService.updateProject(rename);
+
+        // 新请求缓存未命中，按 id 读取仍走从库
+        RoutingContext.clear();
+        assertEquals("v1", projectService.getProjectById(created.getId()).getName());
+
+        // 写操作的存在性检查不使用从库回源的条目，合并结果不会带回旧字段
+        RoutingContext.clear();
+        ProjectUpdateRequest archive = new ProjectUpdateRequest();
+        archive.setId(created.getId());
+        archive.setStatus(ProjectStatusEnum.ARCHIVED);
+        ProjectVO updated = projectService.updateProject(archive);
+        assertEquals("v2", updated.getName());
+        assertEquals(ProjectStatusEnum.ARCHIVED, updated.getStatus());
+
+        // 从库回源的旧行只缓存 replica-ttl：从库追上后很快读到新值
+        RoutingContext.clear();
+        assertEquals("v1", projectService.getProjectById(created.getId()).getName());
+        for (DataSource replica : routingDataSource.getReplicas()) {
+            new JdbcTemplate(replica).update("UPDATE project SET name = 'v2' WHERE id = ?", created.getId());
+        }
+        RoutingContext.clear();
+        assertEquals("v1", projectService.getProjectById(created.getId()).getName());
+        Thread.sleep(300);
+        RoutingContext.clear();
+        assertEquals("v2", projectService.getProjectById(created.getId()).getName());
+    }
+
+    @Test
+    void testLeastConnectionsAvoidsBusyReplica() throws Exception {
+        List<DataSource> replicas = routingDataSource.getReplicas();
+        ReadWriteRoutingDataSource leastConnections = new ReadWriteRoutingDataSource(
+                routingDataSource.getPrimary(), replicas, ReplicaSelectionStrategy.LEAST_CONNECTIONS);
+        leastConnections.afterPropertiesSet();
+
+        RoutingContext.enterReadOnly();
+        try (Connection busy = replicas.get(0).getConnection()) {
+            for (int i = 0; i < 3; i++) {
+                try (Connection connection = leastConnections.getConnection()) {
+                    assertTrue(connection.getMetaData().getURL().startsWith("jdbc:h2:mem:rw_replica1"));
+                }
+            }
+        } finally {
+            RoutingContext.exitReadOnly();
+        }
+
+        // 不在只读方法中时始终走主库
+        try (Connection connection = leastConnections.getConnection()) {
+            assertTrue(connection.getMetaData().getURL().startsWith("jdbc:h2:mem:rw_primary"));
+        }
+    }
+
+    @Test
+    void testEveryPoolExportsMetrics() throws Exception {
+        // 连接池首次取连接时启动并注册指标
+        for (HikariDataSource pool : dataSource.getHikariPools()) {
+            pool.getConnection().close();
+        }
+        for (String pool : new String[]{"oltp", "oltp-replica-0", "oltp-replica-1", "call-log"}) {
+            assertEquals(1, meterRegistry.find("hikaricp.connections.active").tag("pool", pool).gauges().size(), pool);
+        }
+    }
+
+    private long listTimerCount() {
+        Timer timer = meterRegistry.find("project.service").tag("method", "getProjectList").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static ProjectCreateRequest newProject(String name) {
+        ProjectCreateRequest request = new ProjectCreateRequest();
+        request.setName(name);
+        request.setOwner("owner");
+        request.setStatus(ProjectStatusEnum.ACTIVE);
+        return request;
+    }
+}
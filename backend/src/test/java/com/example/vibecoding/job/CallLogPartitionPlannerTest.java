@@ -0,0 +1,49 @@
+package com.example.vibecoding.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CallLogPartitionPlannerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Test
+    void testFirstRunCreatesFromToday() {
+        CallLogPartitionPlanner.Plan plan = CallLogPartitionPlanner.plan(
+                Arrays.asList("p_history", "p_future"), TODAY, 30, 2);
+
+        assertEquals(Arrays.asList(TODAY, TODAY.plusDays(1), TODAY.plusDays(2)), plan.getToCreate());
+        assertEquals(Collections.emptyList(), plan.getToDrop());
+        assertEquals("PARTITION p20261018 VALUES LESS THAN (TO_DAYS('2026-10-19')), "
+                        + "PARTITION p20261019 VALUES LESS THAN (TO_DAYS('2026-10-20')), "
+                        + "PARTITION p20261020 VALUES LESS THAN (TO_DAYS('2026-10-21')), "
+                        + "PARTITION p_future VALUES LESS THAN MAXVALUE",
+                plan.createDefinitions());
+    }
+
+    @Test
+    void testAppendsAfterLastPartitionAndDropsExpired() {
+        CallLogPartitionPlanner.Plan plan = CallLogPartitionPlanner.plan(
+                Arrays.asList("p_history", "p20260916", "p20260917", "p20260918", "p20261018", "p20261019", "p_future"),
+                TODAY, 30, 2);
+
+        assertEquals(Collections.singletonList(TODAY.plusDays(2)), plan.getToCreate());
+        // 保留30天：9月18日的分区仍有在保留期内的数据
+        assertEquals(Arrays.asList(LocalDate.of(2026, 9, 16), LocalDate.of(2026, 9, 17)), plan.getToDrop());
+        assertEquals("p20260916,p20260917", plan.dropNames());
+    }
+
+    @Test
+    void testUpToDateIsNoop() {
+        CallLogPartitionPlanner.Plan plan = CallLogPartitionPlanner.plan(
+                Arrays.asList("p20261018", "p20261019", "p20261020", "p_future"), TODAY, 30, 2);
+
+        assertEquals(Collections.emptyList(), plan.getToCreate());
+        assertEquals(Collections.emptyList(), plan.getToDrop());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.vibecoding.job;
+
+import com.example.vibecoding.mapper.ExternalCallLogMinuteMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CallLogRollupJobTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:30:45Z");
+
+    /**
+     * 记录每次聚合的 [from, to) 窗口
+     */
+    private static class RecordingMapper {
+        final List<String> windows = new CopyOnWriteArrayList<>();
+        Date latestBucket;
+
+        ExternalCallLogMinuteMapper mapper() {
+            return (ExternalCallLogMinuteMapper) Proxy.newProxyInstance(
+                    ExternalCallLogMinuteMapper.class.getClassLoader(),
+                    new Class[]{ExternalCallLogMinuteMapper.class},
+                    (proxy, method, args) -> {
+                        if ("selectLatestBucket".equals(method.getName())) {
+                            return latestBucket;
+                        }
+                        if ("rollup".equals(method.getName())) {
+                            windows.add(((Date) args[0]).toInstant() + "/" + ((Date) args[1]).toInstant());
+                            return 0;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+
+    private static CallLogRollupJob job(RecordingMapper mapper, Instant now) {
+        return new CallLogRollupJob(mapper.mapper(), Duration.ofMinutes(2), Duration.ofMinutes(90),
+                Duration.ofMinutes(60), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testFirstRunCatchesUpInWindows() {
+        RecordingMapper mapper = new RecordingMapper();
+        job(mapper, NOW).rollupClosedMinutes();
+
+        // 截止到 10:28（lateness 2分钟后取整），回溯90分钟，每段最多60分钟
+        assertEquals(Arrays.asList(
+                "2026-10-18T08:58:00Z/2026-10-18T09:58:00Z",
+                "2026-10-18T09:58:00Z/2026-10-18T10:28:00Z"), mapper.windows);
+    }
+
+    @Test
+    void testResumesAfterLatestBucketAndAdvancesWatermark() {
+        RecordingMapper mapper = new RecordingMapper();
+        mapper.latestBucket = Date.from(Instant.parse("2026-10-18T10:20:00Z"));
+        CallLogRollupJob job = job(mapper, NOW);
+
+        job.rollupClosedMinutes();
+        job.rollupClosedMinutes();
+
+        // 第二次执行时没有新结束的分钟，不再聚合
+        assertEquals(Arrays.asList("2026-10-18T10:21:00Z/2026-10-18T10:28:00Z"), mapper.windows);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.vibecoding.mapper;
+
+import com.example.vibecoding.model.entity.ExternalCallLogMinute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 分钟汇总 SQL 在 H2（MySQL 模式）上执行
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rollup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+                + ";INIT=RUNSCRIPT FROM 'classpath:h2/schema.sql'",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+class ExternalCallLogMinuteMapperTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2026, 10, 18, 10, 0);
+
+    @Autowired
+    private ExternalCallLogMinuteMapper minuteMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM external_call_log");
+        jdbcTemplate.update("DELETE FROM external_call_log_minute");
+    }
+
+    @Test
+    void testRollupExcludesCoalescedFollowerRows() {
+        // 实际发往第三方的尝试：一次重试后成功，耗时 100/200/300
+        insertLog(1, 0, 500, 100);
+        insertLog(2, 1, 200, 200);
+        insertLog(1, 1, 200, 300);
+        // 合并请求的跟随记录（attempt=0，无状态码），耗时为等待领导者的时间
+        insertLog(0, 1, null, 5000);
+        insertLog(0, 1, null, 6000);
+
+        minuteMapper.rollup(Timestamp.valueOf(MINUTE), Timestamp.valueOf(MINUTE.plusMinutes(1)));
+
+        List<ExternalCallLogMinute> rows = minuteMapper.selectList(null);
+        assertEquals(1, rows.size());
+        ExternalCallLogMinute row = rows.get(0);
+        assertEquals(3, row.getTotalCount());
+        assertEquals(2, row.getSuccessCount());
+        assertEquals(1, row.getRetryCount());
+        assertEquals(200L, row.getAvgDurationMs());
+        assertEquals(300L, row.getMaxDurationMs());
+        assertEquals(200L, row.getP50DurationMs());
+        assertEquals(300L, row.getP99DurationMs());
+    }
+
+    private void insertLog(int attempt, int success, Integer httpStatus, long durationMs) {
+        jdbcTemplate.update("INSERT INTO external_call_log (trace_id, service, target_url, http_method, http_status, "
+                        + "success, attempt, duration_ms, created_at) VALUES ('trace', 'DICT_QUERY', '/dict', 'GET', ?, ?, ?, ?, ?)",
+                httpStatus, success, attempt, durationMs, Timestamp.valueOf(MINUTE.plusSeconds(attempt * 10L)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.vibecoding.mapper;
+
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * H2 缺少的 MySQL 函数，在 h2/schema.sql 中以 CREATE ALIAS 注册
+ */
+public final class H2MySqlFunctions {
+
+    private H2MySqlFunctions() {
+    }
+
+    /**
+     * DATE_FORMAT，支持 %Y %m %d %H %i %s
+     */
+    public static String dateFormat(Timestamp value, String format) {
+        if (value == null) {
+            return null;
+        }
+        String pattern = format.replace("%Y", "yyyy").replace("%m", "MM").replace("%d", "dd")
+                .replace("%H", "HH").replace("%i", "mm").replace("%s", "ss");
+        return value.toLocalDateTime().format(DateTimeFormatter.ofPattern(pattern));
+    }
+}
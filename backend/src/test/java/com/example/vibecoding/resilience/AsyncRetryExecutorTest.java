@@ -0,0 +1,308 @@
+package com.example.vibecoding.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncRetryExecutorTest {
+
+    /**
+     * 假定时器：任务只在 {@link #runNext()} 时执行，执行前把假时钟推进到该任务的到期时间，并记录其等待时长
+     */
+    private static class FakeTimer extends ScheduledThreadPoolExecutor {
+        final AtomicLong clock = new AtomicLong();
+        final List<Long> delaysMs = new CopyOnWriteArrayList<>();
+        private final PriorityBlockingQueue<FakeTask> pending = new PriorityBlockingQueue<>();
+        private final AtomicLong sequence = new AtomicLong();
+
+        FakeTimer() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            FakeTask task = new FakeTask(command, clock.get() + unit.toNanos(delay), sequence.incrementAndGet());
+            pending.add(task);
+            return task;
+        }
+
+        void runNext() {
+            FakeTask task;
+            do {
+                task = pending.poll();
+            } while (task != null && task.isCancelled());
+            if (task == null) {
+                throw new IllegalStateException("No pending task");
+            }
+            delaysMs.add(TimeUnit.NANOSECONDS.toMillis(task.due - clock.get()));
+            clock.set(task.due);
+            task.command.run();
+        }
+
+        boolean hasPending() {
+            return pending.stream().anyMatch(task -> !task.isCancelled());
+        }
+
+        private class FakeTask implements ScheduledFuture<Object> {
+            final Runnable command;
+            final long due;
+            final long seq;
+            volatile boolean cancelled;
+
+            FakeTask(Runnable command, long due, long seq) {
+                this.command = command;
+                this.due = due;
+                this.seq = seq;
+            }
+
+            @Override
+            public long getDelay(TimeUnit unit) {
+                return unit.convert(due - clock.get(), TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public int compareTo(Delayed other) {
+                FakeTask task = (FakeTask) other;
+                return due != task.due ? Long.compare(due, task.due) : Long.compare(seq, task.seq);
+            }
+
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                cancelled = true;
+                return true;
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled;
+            }
+
+            @Override
+            public boolean isDone() {
+                return cancelled;
+            }
+
+            @Override
+            public Object get() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Object get(long timeout, TimeUnit unit) {
+                throw new UnsupportedOperationException();
+            }
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FakeTimer timer = new FakeTimer();
+    private final ExecutorService attemptExecutor = Executors.newSingleThreadExecutor();
+    private AsyncRetryExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void newExecutor(RetryPolicy policy) {
+        executor = new AsyncRetryExecutor("test", policy, attemptExecutor, timer, registry, timer.clock::get);
+    }
+
+    /**
+     * 交替等待进行中的尝试结束、执行下一个定时任务，直到结果结束
+     */
+    private <T> T await(CompletableFuture<T> result) throws Exception {
+        while (!result.isDone()) {
+            attemptExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            if (!result.isDone()) {
+                timer.runNext();
+            }
+        }
+        return result.get();
+    }
+
+    @Test
+    void testBackoffUsesEqualJitterWithinCap() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 2.0, 300, 8000);
+        long[] caps = {100, 200, 300, 300};
+        for (int attempt = 1; attempt <= caps.length; attempt++) {
+            long cap = caps[attempt - 1];
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < 2000; i++) {
+                long delayMs = TimeUnit.NANOSECONDS.toMillis(policy.backoffNanos(attempt));
+                assertTrue(delayMs >= cap / 2 && delayMs <= cap, attempt + ": " + delayMs);
+                min = Math.min(min, delayMs);
+                max = Math.max(max, delayMs);
+            }
+            // 抖动覆盖整个 [cap/2, cap] 区间
+            assertTrue(min <= cap / 2 + cap / 10, attempt + " min: " + min);
+            assertTrue(max >= cap - cap / 10, attempt + " max: " + max);
+        }
+    }
+
+    @Test
+    void testRetriesUntilSuccess() throws Exception {
+        newExecutor(new RetryPolicy(3, 100, 2.0, 1000, 8000));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Integer> result = executor.execute(attempt -> {
+            attempts.incrementAndGet();
+            if (attempt < 3) {
+                throw new IllegalStateException("attempt " + attempt);
+            }
+            return attempt;
+        }, e -> true, 0);
+
+        assertEquals(3, await(result));
+        assertEquals(3, attempts.get());
+        assertEquals(2, timer.delaysMs.size());
+        assertTrue(timer.delaysMs.get(0) >= 50 && timer.delaysMs.get(0) <= 100, timer.delaysMs.toString());
+        assertTrue(timer.delaysMs.get(1) >= 100 && timer.delaysMs.get(1) <= 200, timer.delaysMs.toString());
+        assertEquals(2, registry.get("retry.scheduled").counter().count());
+        // 成功后截止时间任务被取消
+        assertFalse(timer.hasPending());
+        assertEquals(0, registry.get("retry.exhausted").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        newExecutor(new RetryPolicy(3, 100, 2.0, 1000, 8000));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Object> result = executor.execute(attempt -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("attempt " + attempt);
+        }, e -> true, 0);
+
+        // 以最后一次尝试的异常结束
+        ExecutionException e = assertThrows(ExecutionException.class, () -> await(result));
+        assertEquals("attempt 3", e.getCause().getMessage());
+        assertEquals(3, attempts.get());
+        assertEquals(2, timer.delaysMs.size());
+        assertEquals(1, registry.get("retry.exhausted").tag("reason", "attempts").counter().count());
+        assertEquals(0, registry.get("retry.exhausted").tag("reason", "deadline").counter().count());
+    }
+
+    @Test
+    void testNonRetryableExceptionStopsImmediately() {
+        newExecutor(new RetryPolicy(3, 100, 2.0, 1000, 8000));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Object> result = executor.execute(attempt -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("client error");
+        }, e -> e instanceof IllegalStateException, 0);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> await(result));
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+        assertEquals(1, attempts.get());
+        assertTrue(timer.delaysMs.isEmpty());
+        assertEquals(0, registry.get("retry.scheduled").counter().count());
+    }
+
+    @Test
+    void testCallerTimeoutStopsRetryBeforeDeadline() {
+        // 退避区间依次为 [50,100]、[150,300]、[450,900]：第三次失败后的退避必然超过 400ms 的剩余时间
+        newExecutor(new RetryPolicy(10, 100, 3.0, 10_000, 8000));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Object> result = executor.execute(attempt -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("attempt " + attempt);
+        }, e -> true, 400);
+
+        assertThrows(ExecutionException.class, () -> await(result));
+        assertEquals(3, attempts.get());
+        assertEquals(2, timer.delaysMs.size());
+        assertEquals(1, registry.get("retry.exhausted").tag("reason", "deadline").counter().count());
+    }
+
+    @Test
+    void testPolicyBudgetCapsLongerCallerTimeout() {
+        newExecutor(new RetryPolicy(10, 100, 3.0, 10_000, 400));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Object> result = executor.execute(attempt -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("attempt " + attempt);
+        }, e -> true, 60_000);
+
+        assertThrows(ExecutionException.class, () -> await(result));
+        assertEquals(3, attempts.get());
+        assertEquals(1, registry.get("retry.exhausted").tag("reason", "deadline").counter().count());
+    }
+
+    @Test
+    void testDefaultDictBudgetBoundsTotalBackoff() {
+        // 与 third-party.dict.retry 默认值一致，仅放开次数上限，由 8000ms 总预算决定放弃时机
+        newExecutor(new RetryPolicy(100, 1000, 2.0, 5000, 8000));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Object> result = executor.execute(attempt -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("attempt " + attempt);
+        }, e -> true, 0);
+
+        assertThrows(ExecutionException.class, () -> await(result));
+        long totalBackoffMs = timer.delaysMs.stream().mapToLong(Long::longValue).sum();
+        assertTrue(totalBackoffMs < 8000, timer.delaysMs.toString());
+        // 前三次退避最多 1000+2000+4000，必然放得进预算；第五次失败后剩余不足 2000ms，而退避至少 2500ms
+        assertTrue(attempts.get() >= 4 && attempts.get() <= 5, String.valueOf(attempts.get()));
+        assertEquals(1, registry.get("retry.exhausted").tag("reason", "deadline").counter().count());
+    }
+
+    @Test
+    void testInFlightAttemptIsAbandonedAtDeadline() throws Exception {
+        newExecutor(new RetryPolicy(3, 100, 2.0, 1000, 8000));
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> result = executor.execute(attempt -> {
+            attempts.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("attempt " + attempt);
+        }, e -> true, 500);
+
+        // 尝试阻塞期间到达 500ms 截止时间，结果立即结束，不等待该尝试
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        timer.runNext();
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertTrue(e.getCause() instanceof TimeoutException);
+        assertEquals(500, timer.delaysMs.get(0));
+        assertEquals(1, registry.get("retry.exhausted").tag("reason", "timeout").counter().count());
+
+        // 超时后该尝试失败也不再调度重试
+        release.countDown();
+        attemptExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        assertEquals(1, attempts.get());
+        assertFalse(timer.hasPending());
+        assertEquals(0, registry.get("retry.scheduled").counter().count());
+    }
+}
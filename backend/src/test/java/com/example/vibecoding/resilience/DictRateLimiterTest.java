@@ -0,0 +1,63 @@
+package com.example.vibecoding.resilience;
+
+import com.example.vibecoding.common.BusinessException;
+import com.example.vibecoding.common.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictRateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testFailFastRejectsWhenBucketIsEmpty() {
+        DictRateLimiter limiter = new DictRateLimiter(registry, 2, 1, 60, DictRateLimiter.Mode.FAIL_FAST, 200);
+        assertEquals(2, availableTokens());
+
+        limiter.acquire("trace-1");
+        limiter.acquire("trace-2");
+        assertEquals(0, availableTokens());
+
+        long start = System.nanoTime();
+        BusinessException e = assertThrows(BusinessException.class, () -> limiter.acquire("trace-3"));
+        assertEquals(ErrorCode.DICT_RATE_LIMITED.getCode(), e.getCode());
+        // 立即拒绝，不等待补充
+        assertTrue(System.nanoTime() - start < 100_000_000L);
+
+        assertEquals(2, registry.get("dict.ratelimit.acquired").counter().count());
+        assertEquals(1, registry.get("dict.ratelimit.rejected").tag("mode", "FAIL_FAST").counter().count());
+    }
+
+    @Test
+    void testWaitBlocksUntilRefill() {
+        // 每秒补充1个令牌，最多等待2秒
+        DictRateLimiter limiter = new DictRateLimiter(registry, 1, 1, 1, DictRateLimiter.Mode.WAIT, 2000);
+        limiter.acquire("trace-1");
+        assertEquals(0, availableTokens());
+
+        long start = System.nanoTime();
+        limiter.acquire("trace-2");
+        long waitedMs = (System.nanoTime() - start) / 1_000_000L;
+        assertTrue(waitedMs >= 500 && waitedMs < 2000, String.valueOf(waitedMs));
+
+        assertEquals(2, registry.get("dict.ratelimit.acquired").counter().count());
+        assertEquals(0, registry.get("dict.ratelimit.rejected").tag("mode", "WAIT").counter().count());
+    }
+
+    @Test
+    void testWaitRejectsWhenRefillExceedsMaxWait() {
+        DictRateLimiter limiter = new DictRateLimiter(registry, 1, 1, 60, DictRateLimiter.Mode.WAIT, 200);
+        limiter.acquire("trace-1");
+
+        BusinessException e = assertThrows(BusinessException.class, () -> limiter.acquire("trace-2"));
+        assertEquals(ErrorCode.DICT_RATE_LIMITED.getCode(), e.getCode());
+        assertEquals(1, registry.get("dict.ratelimit.acquired").counter().count());
+        assertEquals(1, registry.get("dict.ratelimit.rejected").tag("mode", "WAIT").counter().count());
+    }
+
+    private double availableTokens() {
+        return registry.get("dict.ratelimit.available.tokens").gauge().value();
+    }
+}
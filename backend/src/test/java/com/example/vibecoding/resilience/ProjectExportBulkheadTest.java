@@ -0,0 +1,59 @@
+package com.example.vibecoding.resilience;
+
+import com.example.vibecoding.common.BusinessException;
+import com.example.vibecoding.common.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectExportBulkheadTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProjectExportBulkhead bulkhead = new ProjectExportBulkhead(registry, task -> task, 2);
+
+    @AfterEach
+    void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @Test
+    void testExportsRunOnDedicatedPoolAndExcessIsRejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WebAsyncTask<String> first = bulkhead.submit(60_000, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Thread.currentThread().getName();
+        });
+        WebAsyncTask<String> second = bulkhead.submit(60_000, () -> "second");
+        assertEquals(60_000L, first.getTimeout());
+        assertEquals(2, registry.get("project.export.active").gauge().value());
+
+        BusinessException e = assertThrows(BusinessException.class, () -> bulkhead.submit(60_000, () -> "third"));
+        assertEquals(ErrorCode.PROJECT_EXPORT_LIMITED.getCode(), e.getCode());
+        assertEquals(1, registry.get("project.export.rejected").counter().count());
+
+        Future<?> firstResult = first.getExecutor().submit(first.getCallable());
+        assertEquals("second", second.getExecutor().submit(second.getCallable()).get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(firstResult.get(5, TimeUnit.SECONDS).toString().startsWith("project-export-"));
+
+        // 任务结束后归还许可
+        assertEquals(0, registry.get("project.export.active").gauge().value());
+        assertNotNull(bulkhead.submit(60_000, () -> "next"));
+    }
+
+    @Test
+    void testFailedExportReleasesPermit() {
+        WebAsyncTask<Object> failing = bulkhead.submit(60_000, () -> {
+            throw new IllegalStateException("client aborted");
+        });
+        assertThrows(IllegalStateException.class, () -> failing.getCallable().call());
+        assertEquals(0, registry.get("project.export.active").gauge().value());
+    }
+}
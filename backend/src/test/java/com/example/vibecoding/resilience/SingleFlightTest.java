@@ -0,0 +1,83 @@
+package com.example.vibecoding.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        int callers = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+        Set<String> leaderIds = ConcurrentHashMap.newKeySet();
+
+        SingleFlight<String, String>.Flight leader = singleFlight.acquire("key", "trace-0");
+        assertTrue(leader.isLeader());
+        CompletableFuture<String> leaderResult = leader.run(() -> {
+            executions.incrementAndGet();
+            return upstream;
+        });
+
+        List<Future<CompletableFuture<String>>> followers = new ArrayList<>();
+        for (int i = 1; i < callers; i++) {
+            String traceId = "trace-" + i;
+            followers.add(executor.submit(() -> {
+                SingleFlight<String, String>.Flight flight = singleFlight.acquire("key", traceId);
+                assertFalse(flight.isLeader());
+                leaderIds.add(flight.getLeaderId());
+                return flight.result();
+            }));
+        }
+        // 所有follower加入后上游调用才完成
+        List<CompletableFuture<String>> followerResults = new ArrayList<>();
+        for (Future<CompletableFuture<String>> follower : followers) {
+            followerResults.add(follower.get(5, TimeUnit.SECONDS));
+        }
+        upstream.complete("value");
+
+        assertEquals("value", leaderResult.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> result : followerResults) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, executions.get());
+        assertEquals(callers - 1, singleFlight.coalescedCount());
+        assertEquals(1, leaderIds.size());
+        assertTrue(leaderIds.contains("trace-0"));
+        // 调用结束后再次acquire会成为新的leader
+        assertTrue(singleFlight.acquire("key", "trace-next").isLeader());
+    }
+
+    @Test
+    void testFailureIsSharedWithFollowers() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        SingleFlight<String, String>.Flight leader = singleFlight.acquire("key", "trace-0");
+        SingleFlight<String, String>.Flight follower = singleFlight.acquire("key", "trace-1");
+
+        CompletableFuture<String> leaderResult = leader.run(() -> {
+            throw new IllegalStateException("upstream down");
+        });
+        CompletionException shared = assertThrows(CompletionException.class, () -> follower.result().join());
+        assertTrue(shared.getCause() instanceof IllegalStateException);
+        assertEquals("upstream down", shared.getCause().getMessage());
+        assertTrue(leaderResult.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.vibecoding.service;
+
+import com.example.vibecoding.config.AsyncConfig;
+import com.example.vibecoding.resilience.AsyncRetryExecutor;
+import com.example.vibecoding.resilience.RetryPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 上下文跨线程传递：异步重试的每次尝试、定时器回调与 @Async 执行器都能看到提交方的上下文，且不残留在池线程上
+ */
+class RequestContextPropagationTest {
+
+    private static final RequestContext.Key<Long> TENANT_ID = RequestContext.Key.of("tenantId", Long.class);
+
+    private static final int THREADS = 4;
+    private static final int REQUESTS = 500;
+
+    private final RequestContext requestContext = new RequestContext();
+
+    @AfterEach
+    void tearDown() {
+        requestContext.remove();
+        MDC.clear();
+    }
+
+    @Test
+    void testRetryAttemptsSeeCallerContextWithoutLeaking() throws Exception {
+        ExecutorService io = Executors.newFixedThreadPool(THREADS);
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        AsyncRetryExecutor retryExecutor = new AsyncRetryExecutor("test", new RetryPolicy(3, 1, 1.0, 1, 5000),
+                io, timer, new SimpleMeterRegistry());
+        Queue<String> mismatches = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                String traceId = "trace-" + i;
+                try (RequestContext.Scope ignored = RequestContext.open(traceId, "user-" + i)) {
+                    requestContext.set(TENANT_ID, (long) i);
+                    results.add(retryExecutor.execute(attempt -> {
+                        if (!traceId.equals(requestContext.getTraceId()) || !traceId.equals(MDC.get("traceId"))
+                                || !traceId.endsWith("-" + requestContext.get(TENANT_ID))) {
+                            mismatches.add(traceId + "@" + attempt);
+                        }
+                        // 前两次失败，经定时器调度重试
+                        if (attempt < 3) {
+                            throw new IllegalStateException("retry");
+                        }
+                        return requestContext.getUserId();
+                    }, e -> true, 0));
+                }
+                // 提交后调用方线程恢复为未绑定
+                assertNull(requestContext.getTraceId());
+                assertNull(MDC.get("traceId"));
+            }
+            for (int i = 0; i < REQUESTS; i++) {
+                assertEquals("user-" + i, results.get(i).get(10, TimeUnit.SECONDS));
+            }
+            assertTrue(mismatches.isEmpty(), mismatches.toString());
+            assertThreadsClean(io);
+            assertThreadsClean(timer);
+        } finally {
+            retryExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testTaskDecoratorPropagatesToAsyncExecutor() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(THREADS);
+        executor.setTaskDecorator(new AsyncConfig().requestContextTaskDecorator());
+        executor.initialize();
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                try (RequestContext.Scope ignored = RequestContext.open("trace-" + i, null)) {
+                    results.add(executor.submitListenable(() -> requestContext.getTraceId() + "|" + MDC.get("traceId"))
+                            .completable());
+                }
+            }
+            for (int i = 0; i < REQUESTS; i++) {
+                assertEquals("trace-" + i + "|trace-" + i, results.get(i).get(10, TimeUnit.SECONDS));
+            }
+            assertThreadsClean(executor.getThreadPoolExecutor());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testInlineRestoreKeepsOuterContext() {
+        try (RequestContext.Scope outer = RequestContext.open("outer", "1")) {
+            byte[] payload = requestContext.payload();
+            RequestContext.Snapshot snapshot = RequestContext.capture();
+
+            try (RequestContext.Scope inner = RequestContext.open("inner", "2")) {
+                assertEquals("inner", requestContext.getTraceId());
+                assertEquals("inner", MDC.get("traceId"));
+                // 在同一线程内联执行快照任务
+                snapshot.wrap(() -> assertEquals("outer", requestContext.getTraceId())).run();
+                assertEquals("inner", requestContext.getTraceId());
+            }
+
+            assertEquals("outer", requestContext.getTraceId());
+            assertEquals("1", MDC.get("userId"));
+            assertEquals(payload, requestContext.read(RequestContext.PAYLOAD));
+        }
+        assertNull(requestContext.getTraceId());
+        assertNull(MDC.get("traceId"));
+        assertNull(MDC.get("userId"));
+    }
+
+    @Test
+    void testUnboundSnapshotRestoresNothing() throws Exception {
+        assertEquals(RequestContext.Snapshot.NONE, RequestContext.capture());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String seen = executor.submit(RequestContext.capture().wrap(requestContext::getTraceId)).get();
+            assertNull(seen);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 在池的每个线程上各跑一个任务，检查上下文与 MDC 已清空
+     */
+    private void assertThreadsClean(ExecutorService pool) throws Exception {
+        int threads = pool instanceof ScheduledExecutorService ? 1 : THREADS;
+        CountDownLatch started = new CountDownLatch(threads);
+        List<CompletableFuture<String>> leaks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            leaks.add(CompletableFuture.supplyAsync(() -> {
+                // 等所有检查任务同时占住线程，确保覆盖池内每个线程
+                started.countDown();
+                try {
+                    started.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                String leaked = requestContext.getTraceId();
+                return leaked != null ? leaked : MDC.get("traceId");
+            }, pool));
+        }
+        for (CompletableFuture<String> leak : leaks) {
+            assertNull(leak.get(10, TimeUnit.SECONDS));
+        }
+    }
+}
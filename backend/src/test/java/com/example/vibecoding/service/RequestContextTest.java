@@ -0,0 +1,80 @@
+package com.example.vibecoding.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestContextTest {
+
+    private static final RequestContext.Key<Long> TENANT_ID = RequestContext.Key.of("tenantId", Long.class);
+
+    private final RequestContext requestContext = new RequestContext();
+
+    @AfterEach
+    void tearDown() {
+        requestContext.remove();
+    }
+
+    @Test
+    void testBindReadAndResetClearsEverySlot() {
+        requestContext.bind("trace-1", "1001");
+        requestContext.set(TENANT_ID, 42L);
+
+        assertEquals("trace-1", requestContext.read("traceId"));
+        assertEquals("1001", requestContext.getUserId());
+        assertEquals(42L, requestContext.read("tenantId"));
+        assertEquals(Long.valueOf(42L), requestContext.get(TENANT_ID));
+        assertNull(requestContext.read("unknown"));
+
+        requestContext.reset();
+        assertNull(requestContext.read("traceId"));
+        assertNull(requestContext.read("userId"));
+        assertNull(requestContext.get(TENANT_ID));
+
+        // 重新 bind 不会带出上一次的扩展属性
+        requestContext.bind("trace-2", "1002");
+        assertNull(requestContext.get(TENANT_ID));
+        assertThrows(IllegalArgumentException.class, () -> RequestContext.Key.of("tenantId", String.class));
+    }
+
+    @Test
+    void testPayloadIsLazyPooledAndZeroed() {
+        requestContext.bind("trace-1", "1001");
+        assertNull(requestContext.read("payload"));
+
+        byte[] payload = requestContext.payload();
+        assertEquals(RequestContext.PAYLOAD_SIZE, payload.length);
+        assertSame(payload, requestContext.payload());
+        payload[0] = 1;
+        requestContext.reset();
+        assertThrows(IllegalStateException.class, requestContext::payload);
+
+        // 同一缓冲区被复用，且不带上一次请求的数据
+        requestContext.bind("trace-2", "1001");
+        byte[] reused = requestContext.payload();
+        assertSame(payload, reused);
+        assertEquals(0, reused[0]);
+    }
+
+    @Test
+    void testContextIsThreadConfined() throws Exception {
+        requestContext.bind("trace-main", "1001");
+        String[] seen = CompletableFuture.supplyAsync(() -> {
+            String before = (String) requestContext.read("traceId");
+            requestContext.bind("trace-other", "1002");
+            String after = requestContext.getTraceId();
+            requestContext.remove();
+            return new String[]{before, after};
+        }).get();
+
+        assertArrayEquals(new String[]{null, "trace-other"}, seen);
+        assertEquals("trace-main", requestContext.getTraceId());
+    }
+}
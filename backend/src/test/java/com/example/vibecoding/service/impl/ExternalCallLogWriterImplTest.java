@@ -0,0 +1,151 @@
+package com.example.vibecoding.service.impl;
+
+import com.example.vibecoding.mapper.ExternalCallLogMapper;
+import com.example.vibecoding.model.entity.ExternalCallLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalCallLogWriterImplTest {
+
+    /**
+     * 记录每次批量写入的桩实现，可通过 latch 让写入线程卡住以模拟慢库
+     */
+    private static class RecordingMapperHandler {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final List<ExternalCallLog> rows = new CopyOnWriteArrayList<>();
+        volatile CountDownLatch gate;
+
+        ExternalCallLogMapper mapper() {
+            return (ExternalCallLogMapper) Proxy.newProxyInstance(
+                    ExternalCallLogMapper.class.getClassLoader(),
+                    new Class[]{ExternalCallLogMapper.class},
+                    (proxy, method, args) -> {
+                        if ("insertBatch".equals(method.getName())) {
+                            if (gate != null) {
+                                gate.await();
+                            }
+                            @SuppressWarnings("unchecked")
+                            List<ExternalCallLog> batch = (List<ExternalCallLog>) args[0];
+                            batchSizes.add(batch.size());
+                            rows.addAll(new ArrayList<>(batch));
+                            return batch.size();
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+
+    private static ExternalCallLog newLog(int success) {
+        ExternalCallLog log = new ExternalCallLog();
+        log.setTraceId("trace");
+        log.setSuccess(success);
+        return log;
+    }
+
+    @Test
+    void testFlushOnShutdownWritesEverythingInBatches() {
+        RecordingMapperHandler handler = new RecordingMapperHandler();
+        ExternalCallLogWriterImpl writer = new ExternalCallLogWriterImpl(handler.mapper(), new SimpleMeterRegistry(),
+                1000, 50, 60_000, ExternalCallLogWriterImpl.OverflowPolicy.DROP, 10, 50, 5000, false);
+        writer.start();
+
+        for (int i = 0; i < 120; i++) {
+            assertTrue(writer.submit(newLog(1)));
+        }
+        writer.shutdown();
+
+        assertEquals(120, handler.rows.size());
+        // 每个批次都不超过 batch-size
+        handler.batchSizes.forEach(size -> assertTrue(size <= 50));
+    }
+
+    @Test
+    void testSubmitRacingShutdownIsWrittenOrCountedAsDropped() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            RecordingMapperHandler handler = new RecordingMapperHandler();
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            ExternalCallLogWriterImpl writer = new ExternalCallLogWriterImpl(handler.mapper(), registry,
+                    10000, 50, 5, ExternalCallLogWriterImpl.OverflowPolicy.DROP, 10, 50, 5000, false);
+            writer.start();
+
+            int threads = 4;
+            AtomicInteger submitted = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(threads);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread submitter = new Thread(() -> {
+                    started.countDown();
+                    // 停机前后都在提交
+                    for (int i = 0; i < 2000; i++) {
+                        writer.submit(newLog(1));
+                        submitted.incrementAndGet();
+                    }
+                });
+                submitters.add(submitter);
+                submitter.start();
+            }
+            started.await();
+            writer.shutdown();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+
+            double dropped = registry.get("external.call.log.dropped").counter().count();
+            assertEquals(submitted.get(), handler.rows.size() + (int) dropped);
+            assertEquals(0, writer.getQueueSize());
+        }
+    }
+
+    @Test
+    void testDropPolicyCountsOverflow() {
+        RecordingMapperHandler handler = new RecordingMapperHandler();
+        handler.gate = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ExternalCallLogWriterImpl writer = new ExternalCallLogWriterImpl(handler.mapper(), registry,
+                10, 1, 10, ExternalCallLogWriterImpl.OverflowPolicy.DROP, 10, 50, 5000, false);
+        writer.start();
+
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (writer.submit(newLog(1))) {
+                accepted++;
+            }
+        }
+        handler.gate.countDown();
+        writer.shutdown();
+
+        double dropped = registry.get("external.call.log.dropped").counter().count();
+        assertEquals(100, accepted + (int) dropped);
+        assertTrue(dropped > 0);
+        assertEquals(accepted, handler.rows.size());
+    }
+
+    @Test
+    void testSamplePolicyKeepsFailures() {
+        RecordingMapperHandler handler = new RecordingMapperHandler();
+        handler.gate = new CountDownLatch(1);
+        ExternalCallLogWriterImpl writer = new ExternalCallLogWriterImpl(handler.mapper(), new SimpleMeterRegistry(),
+                100, 1, 10, ExternalCallLogWriterImpl.OverflowPolicy.SAMPLE, 1000, 50, 5000, false);
+        writer.start();
+
+        // 先把队列填到高水位以上
+        for (int i = 0; i < 90; i++) {
+            writer.submit(newLog(1));
+        }
+        // 高水位后成功日志被抽样丢弃，失败日志仍可入队
+        assertFalse(writer.submit(newLog(1)));
+        assertTrue(writer.submit(newLog(0)));
+
+        handler.gate.countDown();
+        writer.shutdown();
+    }
+}
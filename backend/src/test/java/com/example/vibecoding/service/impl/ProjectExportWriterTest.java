@@ -0,0 +1,58 @@
+package com.example.vibecoding.service.impl;
+
+import com.example.vibecoding.model.enums.ExportFormat;
+import com.example.vibecoding.model.enums.ProjectStatusEnum;
+import com.example.vibecoding.model.vo.ProjectVO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectExportWriterTest {
+
+    private static ProjectVO project(long id, String name, String owner) {
+        ProjectVO project = new ProjectVO();
+        project.setId(id);
+        project.setName(name);
+        project.setOwner(owner);
+        project.setStatus(ProjectStatusEnum.ACTIVE);
+        project.setDeleted(0);
+        return project;
+    }
+
+    @Test
+    void testNdJsonWritesOneObjectPerLine() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProjectExportWriter writer = ProjectExportWriter.of(ExportFormat.NDJSON, out, objectMapper);
+        writer.write(project(1L, "项目一", "张三"));
+        writer.write(project(2L, "项目\n二", null));
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(2L, second.path("id").asLong());
+        assertEquals("项目\n二", second.path("name").asText());
+        assertEquals(1, second.path("status").asInt());
+    }
+
+    @Test
+    void testCsvQuotesSpecialCharacters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProjectExportWriter writer = ProjectExportWriter.of(ExportFormat.CSV, out, new ObjectMapper());
+        writer.write(project(1L, "a,b", "say \"hi\""));
+        writer.write(project(2L, "plain", null));
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\r\n");
+        assertEquals("id,name,owner,status,createdAt,updatedAt", lines[0]);
+        assertEquals("1,\"a,b\",\"say \"\"hi\"\"\",1,,", lines[1]);
+        assertEquals("2,plain,,1,,", lines[2]);
+    }
+}
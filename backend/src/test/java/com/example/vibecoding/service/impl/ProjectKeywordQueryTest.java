@@ -0,0 +1,88 @@
+package com.example.vibecoding.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.example.vibecoding.model.entity.Project;
+import com.example.vibecoding.model.enums.ProjectSearchMode;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 关键字检索条件的 SQL 片段与参数；H2 不支持 MATCH ... AGAINST，只校验生成的条件
+ */
+public class ProjectKeywordQueryTest {
+
+    @BeforeAll
+    static void initTableInfo() {
+        // Lambda 条件按实体元数据解析列名
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Project.class);
+    }
+
+    private static ProjectServiceImpl service(ProjectSearchMode mode) {
+        return new ProjectServiceImpl(null, null, null, null, null, mode, 500, 5000);
+    }
+
+    @Test
+    void testFullTextSearchesQuotedPhraseInBooleanMode() {
+        LambdaQueryWrapper<Project> query = service(ProjectSearchMode.FULLTEXT).buildKeywordQuery("spring boot");
+
+        assertEquals("(MATCH(name, owner) AGAINST(#{ew.paramNameValuePairs.MPGENVAL1} IN BOOLEAN MODE))",
+                query.getSqlSegment());
+        assertEquals(1, query.getParamNameValuePairs().size());
+        assertEquals("\"spring boot\"", query.getParamNameValuePairs().get("MPGENVAL1"));
+    }
+
+    @Test
+    void testFullTextStripsUserQuotesSoOperatorsStayInsidePhrase() {
+        // 用户输入的引号会提前闭合短语，使后面的 +/- 变成布尔运算符
+        LambdaQueryWrapper<Project> query = service(ProjectSearchMode.FULLTEXT)
+                .buildKeywordQuery(ProjectServiceImpl.normalizeKeyword(" \"java\" -spring \""));
+
+        assertTrue(query.getSqlSegment().contains("MATCH(name, owner) AGAINST"));
+        assertEquals("\"java -spring \"", query.getParamNameValuePairs().get("MPGENVAL1"));
+    }
+
+    @Test
+    void testFullTextFallsBackToLikeBelowNgramTokenSize() {
+        for (String keyword : new String[]{"a", "\"a\""}) {
+            LambdaQueryWrapper<Project> query = service(ProjectSearchMode.FULLTEXT).buildKeywordQuery(keyword);
+
+            assertFalse(query.getSqlSegment().contains("MATCH"), keyword);
+            assertEquals("((name LIKE #{ew.paramNameValuePairs.MPGENVAL1} OR owner LIKE #{ew.paramNameValuePairs.MPGENVAL2}))",
+                    query.getSqlSegment(), keyword);
+            assertEquals("%" + keyword + "%", query.getParamNameValuePairs().get("MPGENVAL1"));
+            assertEquals("%" + keyword + "%", query.getParamNameValuePairs().get("MPGENVAL2"));
+        }
+    }
+
+    @Test
+    void testLikeModeNeverUsesFullText() {
+        LambdaQueryWrapper<Project> query = service(ProjectSearchMode.LIKE).buildKeywordQuery("spring boot");
+
+        assertFalse(query.getSqlSegment().contains("MATCH"));
+        assertEquals("%spring boot%", query.getParamNameValuePairs().get("MPGENVAL1"));
+    }
+
+    @Test
+    void testBlankKeywordAddsNoCondition() {
+        assertNull(ProjectServiceImpl.normalizeKeyword("  "));
+        assertEquals("", service(ProjectSearchMode.FULLTEXT).buildKeywordQuery(null).getSqlSegment());
+        assertTrue(service(ProjectSearchMode.FULLTEXT).buildKeywordQuery(null).getParamNameValuePairs().isEmpty());
+    }
+
+    @Test
+    void testNormalizedKeywordMatchesCountCacheKey() {
+        // " a" 与 "a" 共用同一个总数缓存条目，查询条件也必须相同
+        String normalized = ProjectServiceImpl.normalizeKeyword(" a ");
+        assertEquals("a", normalized);
+        LambdaQueryWrapper<Project> query = service(ProjectSearchMode.LIKE).buildKeywordQuery(normalized);
+        // 嵌套条件的参数在生成 SQL 片段时才合并
+        assertTrue(query.getSqlSegment().contains("name LIKE"));
+        assertEquals("%a%", query.getParamNameValuePairs().get("MPGENVAL1"));
+        assertEquals("%a%", query.getParamNameValuePairs().get("MPGENVAL2"));
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.vibecoding.tracing;
+
+import com.example.vibecoding.cache.DictQueryCache;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 全量采样 + 内存导出，验证一次请求内各段 span 的父子关系与出站请求头
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+                + ";INIT=RUNSCRIPT FROM 'classpath:h2/schema.sql'",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "third-party.dict.base-url=http://localhost:" + TracingTest.UPSTREAM_PORT + "/",
+        "tracing.sample-rate=1.0",
+        "tracing.exporter=MEMORY",
+        "tracing.trust-upstream-sampled=true"
+})
+class TracingTest {
+
+    static final int UPSTREAM_PORT = 8091;
+
+    private static final String DICT_PATH = "/api/v1/dataapi/execute/dict/query";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SpanExporter spanExporter;
+
+    @Autowired
+    private DictQueryCache dictQueryCache;
+
+    private WireMockServer upstream;
+
+    @BeforeEach
+    void setUp() {
+        upstream = new WireMockServer(WireMockConfiguration.wireMockConfig().port(UPSTREAM_PORT));
+        upstream.start();
+        dictQueryCache.invalidateAll();
+        exporter().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop();
+    }
+
+    @Test
+    void testDictQuerySpansAndPropagatedHeaders() throws Exception {
+        // 第一次 500 触发重试，第二次成功
+        upstream.stubFor(WireMock.get(WireMock.urlPathEqualTo(DICT_PATH)).inScenario("retry")
+                .willReturn(WireMock.aResponse().withStatus(500))
+                .willSetStateTo("recovered"));
+        upstream.stubFor(WireMock.get(WireMock.urlPathEqualTo(DICT_PATH)).inScenario("retry")
+                .whenScenarioStateIs("recovered")
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"total\":0,\"data\":[]}")));
+
+        String traceId = UUID.randomUUID().toString().replace("-", "");
+        ResponseEntity<String> response = get("/api/dict/query?pageNum=1&pageSize=10&dictType=tracing", traceId, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        List<Span> spans = awaitSpans(traceId, span -> span.getKind() == SpanKind.SERVER);
+        Span server = find(spans, span -> span.getKind() == SpanKind.SERVER);
+        assertEquals("GET /api/dict/query", server.getName());
+        assertEquals("200", server.getTags().get("http.status"));
+
+        Span firstAttempt = find(spans, span -> "dict.attempt".equals(span.getName())
+                && "1".equals(span.getTags().get("attempt")));
+        Span secondAttempt = find(spans, span -> "dict.attempt".equals(span.getName())
+                && "2".equals(span.getTags().get("attempt")));
+        assertEquals(server.getSpanId(), firstAttempt.getParentSpanId());
+        assertEquals(server.getSpanId(), secondAttempt.getParentSpanId());
+        assertEquals("InternalServerError", firstAttempt.getError());
+
+        List<Span> clients = exporter().getSpans(traceId);
+        clients.removeIf(span -> span.getKind() != SpanKind.CLIENT);
+        assertEquals(2, clients.size());
+        for (Span client : clients) {
+            assertTrue(client.getParentSpanId().equals(firstAttempt.getSpanId())
+                    || client.getParentSpanId().equals(secondAttempt.getSpanId()));
+            // 下游收到的请求头与出站 span 一致
+            upstream.verify(WireMock.getRequestedFor(WireMock.urlPathEqualTo(DICT_PATH))
+                    .withHeader(Tracer.TRACE_ID_HEADER, WireMock.equalTo(traceId))
+                    .withHeader(Tracer.SPAN_ID_HEADER, WireMock.equalTo(client.getSpanId()))
+                    .withHeader(Tracer.SAMPLED_HEADER, WireMock.equalTo("1")));
+        }
+        // 每次尝试都重新签名
+        find(spans, span -> "dict.sign".equals(span.getName())
+                && firstAttempt.getSpanId().equals(span.getParentSpanId()));
+        find(spans, span -> "dict.sign".equals(span.getName())
+                && secondAttempt.getSpanId().equals(span.getParentSpanId()));
+    }
+
+    @Test
+    void testSqlStatementSpans() throws Exception {
+        String traceId = UUID.randomUUID().toString().replace("-", "");
+        ResponseEntity<String> response = get("/api/call-logs?from=2026-10-18 10:00:00&to=2026-10-18 11:00:00",
+                traceId, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        List<Span> spans = awaitSpans(traceId, span -> span.getKind() == SpanKind.SERVER);
+        Span server = find(spans, span -> span.getKind() == SpanKind.SERVER);
+        Span select = find(spans, span -> "db select".equals(span.getName()));
+        assertEquals(server.getSpanId(), select.getParentSpanId());
+        assertTrue(select.getTags().get("db.statement").contains("ExternalCallLogMapper"));
+        assertEquals("0", select.getTags().get("db.rows"));
+    }
+
+    @Test
+    void testUpstreamSamplingDecisionIsRespected() {
+        String traceId = UUID.randomUUID().toString().replace("-", "");
+        get("/api/call-logs?from=2026-10-18 10:00:00&to=2026-10-18 11:00:00", traceId, "0");
+        assertTrue(exporter().getSpans(traceId).isEmpty());
+    }
+
+    @Test
+    void testUpstreamSamplingHeaderIsIgnoredUnlessTrusted() throws Exception {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(100);
+        Tracer tracer = new Tracer(Sampler.ratio(0), exporter);
+
+        // 默认不信任上游：X-Trace-Sampled: 1 不能强制采样
+        filter(new TracingFilter(tracer, false), "untrusted");
+        assertTrue(exporter.getSpans("untrusted").isEmpty());
+
+        filter(new TracingFilter(tracer, true), "trusted");
+        assertEquals(1, exporter.getSpans("trusted").size());
+    }
+
+    @Test
+    void testSpanTagsFromConcurrentThreads() throws Exception {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(100);
+        Tracer tracer = new Tracer(Sampler.ratio(1), exporter);
+        Span span = tracer.startRoot("root", SpanKind.SERVER, "concurrent", null, null);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < 1000; i++) {
+                        span.tag(thread + "-" + i, i);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        span.end();
+        assertEquals(4000, exporter.getSpans("concurrent").get(0).getTags().size());
+    }
+
+    @Test
+    void testRatioSamplerIsDeterministicPerTrace() {
+        assertFalse(Sampler.ratio(0).isSampled("any"));
+        assertTrue(Sampler.ratio(1).isSampled("any"));
+
+        Sampler sampler = Sampler.ratio(0.25);
+        int sampled = 0;
+        for (int i = 0; i < 10000; i++) {
+            String traceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            boolean decision = sampler.isSampled(traceId);
+            assertEquals(decision, sampler.isSampled(traceId));
+            if (decision) {
+                sampled++;
+            }
+        }
+        assertTrue(sampled > 2000 && sampled < 3000, String.valueOf(sampled));
+    }
+
+    private ResponseEntity<String> get(String path, String traceId, String sampled) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(Tracer.TRACE_ID_HEADER, traceId);
+        if (sampled != null) {
+            headers.set(Tracer.SAMPLED_HEADER, sampled);
+        }
+        return restTemplate.exchange("http://localhost:" + port + path, HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+    }
+
+    private static void filter(TracingFilter filter, String traceId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/health");
+        request.addHeader(Tracer.TRACE_ID_HEADER, traceId);
+        request.addHeader(Tracer.SAMPLED_HEADER, "1");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    /**
+     * 异步请求的根 span 在异步处理完成后才结束，响应返回时可能尚未导出
+     */
+    private List<Span> awaitSpans(String traceId, Predicate<Span> until) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            List<Span> spans = exporter().getSpans(traceId);
+            if (spans.stream().anyMatch(until)) {
+                return spans;
+            }
+            Thread.sleep(20);
+        }
+        return exporter().getSpans(traceId);
+    }
+
+    private static Span find(List<Span> spans, Predicate<Span> predicate) {
+        Span span = spans.stream().filter(predicate).findFirst().orElse(null);
+        assertNotNull(span, spans.toString());
+        return span;
+    }
+
+    private InMemorySpanExporter exporter() {
+        return (InMemorySpanExporter) spanExporter;
+    }
+}
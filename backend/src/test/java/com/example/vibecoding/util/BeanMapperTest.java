@@ -0,0 +1,94 @@
+package com.example.vibecoding.util;
+
+import com.example.vibecoding.model.entity.Project;
+import com.example.vibecoding.model.enums.ProjectStatusEnum;
+import com.example.vibecoding.model.request.ProjectCreateRequest;
+import com.example.vibecoding.model.request.ProjectUpdateRequest;
+import com.example.vibecoding.model.vo.ProjectVO;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanMapperTest {
+
+    @Data
+    public static class Source {
+        private int count;
+        private Integer boxed;
+        private String text;
+        private Long mismatched;
+        private String writeOnlyOnTarget;
+    }
+
+    @Data
+    public static class Target {
+        private Integer count;
+        private int boxed;
+        private String text = "default";
+        private String mismatched = "keep";
+        private String extra = "keep";
+    }
+
+    @Test
+    void testProjectToVoMatchesBeanUtils() {
+        Project project = new Project();
+        project.setId(7L);
+        project.setName("项目");
+        project.setStatus(ProjectStatusEnum.ARCHIVED);
+        project.setCreatedAt(new Date(1000L));
+        project.setDeleted(0);
+
+        ProjectVO expected = new ProjectVO();
+        BeanUtils.copyProperties(project, expected);
+        assertEquals(expected, BeanCopyUtil.copy(project, ProjectVO.class));
+    }
+
+    @Test
+    void testRequestsToProject() {
+        ProjectCreateRequest create = new ProjectCreateRequest();
+        create.setName("新项目");
+        create.setStatus(ProjectStatusEnum.DRAFT);
+        Project created = BeanCopyUtil.copy(create, Project.class);
+        assertEquals("新项目", created.getName());
+        assertNull(created.getOwner());
+        assertEquals(ProjectStatusEnum.DRAFT, created.getStatus());
+        assertNull(created.getId());
+
+        ProjectUpdateRequest update = new ProjectUpdateRequest();
+        update.setId(3L);
+        update.setName("改名");
+        Project existing = new Project();
+        existing.setOwner("old-owner");
+        existing.setDeleted(0);
+        BeanCopyUtil.copy(update, existing);
+        assertEquals(3L, existing.getId());
+        assertEquals("改名", existing.getName());
+        // 与 BeanUtils 一致：源为null的属性也会覆盖目标
+        assertNull(existing.getOwner());
+        assertEquals(0, existing.getDeleted());
+    }
+
+    @Test
+    void testNullAndTypeSemanticsMatchBeanUtils() {
+        Source source = new Source();
+        source.setCount(5);
+        source.setBoxed(9);
+        source.setMismatched(1L);
+
+        Target expected = new Target();
+        BeanUtils.copyProperties(source, expected);
+        Target actual = BeanMapper.of(Source.class, Target.class).map(source);
+
+        assertEquals(expected, actual);
+        assertEquals(5, actual.getCount());
+        assertEquals(9, actual.getBoxed());
+        assertNull(actual.getText());
+        assertEquals("keep", actual.getMismatched());
+        assertEquals("keep", actual.getExtra());
+        assertSame(BeanMapper.of(Source.class, Target.class), BeanMapper.of(Source.class, Target.class));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.vibecoding.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThirdPartySignerTest {
+
+    private static final String APP_KEY = "app~key 1";
+    private static final String APP_SECRET = "secret*+";
+
+    @Test
+    void testSignStringAndSignatureMatchReferenceImplementation() throws Exception {
+        ThirdPartySigner signer = ThirdPartySigner.of(APP_KEY, APP_SECRET);
+        Map<String, Object> params = new HashMap<>();
+        params.put("pageNum", 1L);
+        params.put("pageSize", 10L);
+        params.put("dictType", "java类 a+b*c~d/e?f=g&h");
+        params.put("emoji", "😀");
+        params.put("broken", "\uD800x");
+        // 与 appKey/timestamp 同名的业务参数会被覆盖
+        params.put("appKey", "ignored");
+        params.put("timestamp", "ignored");
+        String timestamp = "2024-01-01 08:00:00";
+        String path = "/api/v1/dataapi/execute/dict/query";
+
+        String expected = ThirdPartySignatureUtil.buildSignString("get", path, params, APP_KEY, timestamp);
+        String actual = signer.buildSignString("get", path, params, timestamp);
+        assertEquals(expected, actual);
+        assertEquals(ThirdPartySignatureUtil.sign(APP_SECRET, expected), signer.sign(actual));
+    }
+
+    @Test
+    void testPercentEncodeMatchesUrlEncoderBasedRule() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder value = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                // 覆盖ASCII、中文以及代理区字符
+                int bucket = random.nextInt(3);
+                value.append(bucket == 0 ? (char) (0x20 + random.nextInt(0x5F))
+                        : bucket == 1 ? (char) (0x4E00 + random.nextInt(0x100))
+                        : (char) (0xD800 + random.nextInt(0x800)));
+            }
+            String text = value.toString();
+            assertEquals(ThirdPartySignatureUtil.specialUrlEncode(text), ThirdPartySigner.percentEncode(text), text);
+        }
+    }
+
+    @Test
+    void testHeadersAreVerifiableAndTimestampFormatUnchanged() throws Exception {
+        Map<String, Object> params = new HashMap<>();
+        params.put("dictType", "java类");
+        Map<String, String> headers = ThirdPartySignatureUtil.generateHeaders(APP_KEY, APP_SECRET, "GET", "/path", params);
+
+        assertEquals(APP_KEY, headers.get("AppKey"));
+        String timestamp = headers.get("Timestamp");
+        SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        df.setTimeZone(TimeZone.getTimeZone("Asia/Shanghai"));
+        assertEquals(timestamp, df.format(df.parse(timestamp)));
+        String expected = ThirdPartySignatureUtil.sign(APP_SECRET,
+                ThirdPartySignatureUtil.buildSignString("GET", "/path", params, APP_KEY, timestamp));
+        assertEquals(expected, headers.get("Signature"));
+        assertSame(ThirdPartySigner.of(APP_KEY, APP_SECRET), ThirdPartySigner.of(APP_KEY, APP_SECRET));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.vibecoding.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * 虚拟线程钉住（pinning）检查
+ * 持有 synchronized 监视器时阻塞会钉住载体线程，因此主代码中禁止 synchronized；
+ * JDK 21+ 上的 JFR 运行时检测见 src/test/java21 下的 VirtualThreadJfrPinningTest
+ */
+class VirtualThreadPinningTest {
+
+    private static final Pattern SYNCHRONIZED = Pattern.compile("\\bsynchronized\\b");
+
+    @Test
+    void testMainSourcesDoNotUseSynchronized() throws IOException {
+        List<String> offenders;
+        try (Stream<Path> sources = Files.walk(Paths.get("src/main/java"))) {
+            offenders = sources.filter(path -> path.toString().endsWith(".java"))
+                    .flatMap(VirtualThreadPinningTest::synchronizedLines)
+                    .collect(Collectors.toList());
+        }
+        assertTrue(offenders.isEmpty(), "Use ReentrantLock instead of synchronized: " + offenders);
+    }
+
+    @Test
+    void testFallsBackToPlatformThreadsWhenUnsupported() {
+        assumeFalse(VirtualThreads.isSupported());
+        assertFalse(VirtualThreads.isEnabled(true, "test"));
+    }
+
+    private static Stream<String> synchronizedLines(Path path) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        List<String> offenders = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (!line.startsWith("//") && !line.startsWith("*") && SYNCHRONIZED.matcher(line).find()) {
+                offenders.add(path.getFileName() + ":" + (i + 1));
+            }
+        }
+        return offenders.stream();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.vibecoding.util;
+
+import com.example.vibecoding.job.CallLogRollupJob;
+import com.example.vibecoding.mapper.ExternalCallLogMinuteMapper;
+import com.example.vibecoding.resilience.AsyncRetryExecutor;
+import com.example.vibecoding.resilience.RetryPolicy;
+import com.example.vibecoding.service.RequestContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 虚拟线程钉住（pinning）的运行时检测：用 JFR 的 jdk.VirtualThreadPinned 事件检查阻塞路径
+ * 依赖 jdk.jfr，只在 java21 profile（JDK 21+ 自动激活）下编译运行；synchronized 的静态检查见 {@link VirtualThreadPinningTest}
+ */
+class VirtualThreadJfrPinningTest {
+
+    @Test
+    void testBlockingPathsDoNotPinCarrierThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads require Java 21+");
+
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            runBlockingWorkload();
+            recording.stop();
+            recording.dump(dump);
+
+            List<String> pinned = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                if ("jdk.VirtualThreadPinned".equals(event.getEventType().getName()) && inOurCode(event)) {
+                    pinned.add(event.getStackTrace().getFrames().toString());
+                }
+            }
+            assertTrue(pinned.isEmpty(), "Pinned virtual threads: " + pinned);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    /**
+     * 在虚拟线程上跑带退避重试的阻塞调用与持锁执行 SQL 的汇总任务
+     */
+    private static void runBlockingWorkload() throws Exception {
+        ExecutorService io = VirtualThreads.newThreadPerTaskExecutor("pinning-io-");
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        AsyncRetryExecutor retryExecutor = new AsyncRetryExecutor("pinning", new RetryPolicy(2, 1, 1.0, 1, 5000),
+                io, timer, new SimpleMeterRegistry());
+        CallLogRollupJob rollupJob = new CallLogRollupJob(sleepingMinuteMapper(), 0, 10, 60);
+        try {
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                try (RequestContext.Scope ignored = RequestContext.open("trace-" + i, null)) {
+                    futures.add(retryExecutor.execute(attempt -> {
+                        sleep(5);
+                        if (attempt == 1) {
+                            throw new IllegalStateException("retry");
+                        }
+                        return attempt;
+                    }, e -> true, 0));
+                }
+                futures.add(CompletableFuture.runAsync(rollupJob::rollup, io));
+            }
+            for (CompletableFuture<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            retryExecutor.shutdown();
+        }
+    }
+
+    private static ExternalCallLogMinuteMapper sleepingMinuteMapper() {
+        return (ExternalCallLogMinuteMapper) Proxy.newProxyInstance(
+                ExternalCallLogMinuteMapper.class.getClassLoader(),
+                new Class[]{ExternalCallLogMinuteMapper.class},
+                (proxy, method, args) -> {
+                    // 模拟阻塞的 JDBC 调用
+                    sleep(2);
+                    return "rollup".equals(method.getName()) ? 0 : null;
+                });
+    }
+
+    private static boolean inOurCode(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith("com.example.vibecoding.")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
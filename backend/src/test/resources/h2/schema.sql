@@ -0,0 +1,46 @@
+CREATE TABLE IF NOT EXISTS project (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    owner VARCHAR(50) NULL,
+    status INT NOT NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    deleted TINYINT NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS idx_deleted_created_id ON project(deleted, created_at, id);
+CREATE TABLE IF NOT EXISTS external_call_log (
+    id BIGINT AUTO_INCREMENT,
+    trace_id VARCHAR(64) NOT NULL,
+    request_id VARCHAR(64) NULL,
+    service VARCHAR(50) NOT NULL,
+    target_url VARCHAR(255) NOT NULL,
+    http_method VARCHAR(10) NOT NULL,
+    query_string VARCHAR(1000) NULL,
+    http_status INT NULL,
+    success TINYINT NOT NULL,
+    attempt INT NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    exception_type VARCHAR(100) NULL,
+    exception_message VARCHAR(1000) NULL,
+    created_at DATETIME NOT NULL,
+    PRIMARY KEY (id, created_at)
+);
+CREATE INDEX IF NOT EXISTS idx_trace_attempt ON external_call_log(trace_id, attempt);
+CREATE INDEX IF NOT EXISTS idx_service_created_id ON external_call_log(service, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_created_id ON external_call_log(created_at, id);
+CREATE TABLE IF NOT EXISTS external_call_log_minute (
+    service VARCHAR(50) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    total_count INT NOT NULL,
+    success_count INT NOT NULL,
+    retry_count INT NOT NULL,
+    success_rate DECIMAL(5,4) GENERATED ALWAYS AS (CAST(success_count AS DECIMAL(10,4)) / total_count),
+    avg_duration_ms BIGINT NOT NULL,
+    max_duration_ms BIGINT NOT NULL,
+    p50_duration_ms BIGINT NOT NULL,
+    p95_duration_ms BIGINT NOT NULL,
+    p99_duration_ms BIGINT NOT NULL,
+    updated_at DATETIME NOT NULL,
+    PRIMARY KEY (service, bucket_start)
+);
+CREATE ALIAS IF NOT EXISTS DATE_FORMAT FOR "com.example.vibecoding.mapper.H2MySqlFunctions.dateFormat";
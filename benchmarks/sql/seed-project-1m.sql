@@ -0,0 +1,20 @@
+-- 项目列表基准数据：向 project 表写入 100 万行（MySQL 8）
+-- 用法：mysql -uroot -p test < benchmarks/sql/seed-project-1m.sql
+USE test;
+
+DROP TEMPORARY TABLE IF EXISTS bench_digits;
+CREATE TEMPORARY TABLE bench_digits (d INT NOT NULL PRIMARY KEY);
+INSERT INTO bench_digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+INSERT INTO project (name, owner, status, created_at, updated_at, deleted)
+SELECT CONCAT('基准项目', n),
+       CONCAT('owner', n % 1000),
+       n % 3,
+       DATE_SUB('2024-01-01 00:00:00', INTERVAL n SECOND),
+       DATE_SUB('2024-01-01 00:00:00', INTERVAL n SECOND),
+       IF(n % 50 = 0, 1, 0)
+FROM (SELECT a.d + b.d * 10 + c.d * 100 + d.d * 1000 + e.d * 10000 + f.d * 100000 AS n
+      FROM bench_digits a, bench_digits b, bench_digits c, bench_digits d, bench_digits e, bench_digits f) seq;
+
+DROP TEMPORARY TABLE bench_digits;
+ANALYZE TABLE project;
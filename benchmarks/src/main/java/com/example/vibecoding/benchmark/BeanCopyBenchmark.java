@@ -0,0 +1,58 @@
+package com.example.vibecoding.benchmark;
+
+import com.example.vibecoding.model.entity.Project;
+import com.example.vibecoding.model.vo.ProjectVO;
+import com.example.vibecoding.util.BeanCopyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project -> ProjectVO 复制基准（列表接口每行都会执行一次）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanCopyBenchmark {
+
+    private final Project project = Fixtures.project(1L);
+
+    @Benchmark
+    public ProjectVO beanUtils() {
+        // 改造前的实现：每次反射实例化 + BeanUtils.copyProperties
+        ProjectVO vo = BeanUtils.instantiateClass(ProjectVO.class);
+        BeanUtils.copyProperties(project, vo);
+        return vo;
+    }
+
+    @Benchmark
+    public ProjectVO copy() {
+        return BeanCopyUtil.copy(project, ProjectVO.class);
+    }
+
+    @Benchmark
+    public ProjectVO handWritten() {
+        // 手写 getter/setter 作为下限参照
+        ProjectVO vo = new ProjectVO();
+        vo.setId(project.getId());
+        vo.setName(project.getName());
+        vo.setOwner(project.getOwner());
+        vo.setStatus(project.getStatus());
+        vo.setCreatedAt(project.getCreatedAt());
+        vo.setUpdatedAt(project.getUpdatedAt());
+        vo.setDeleted(project.getDeleted());
+        return vo;
+    }
+}
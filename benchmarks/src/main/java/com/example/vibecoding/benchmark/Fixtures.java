@@ -0,0 +1,43 @@
+package com.example.vibecoding.benchmark;
+
+import com.example.vibecoding.model.entity.Project;
+import com.example.vibecoding.model.enums.ProjectStatusEnum;
+import com.example.vibecoding.model.vo.ProjectVO;
+
+import java.util.Date;
+
+/**
+ * 基准测试共用的样例数据
+ */
+final class Fixtures {
+
+    private static final Date CREATED_AT = new Date(1700000000000L);
+
+    private Fixtures() {
+    }
+
+    static Project project(long id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("项目-" + id);
+        project.setOwner("owner" + (id % 100));
+        project.setStatus(ProjectStatusEnum.ACTIVE);
+        project.setCreatedAt(CREATED_AT);
+        project.setUpdatedAt(CREATED_AT);
+        project.setDeleted(0);
+        return project;
+    }
+
+    static ProjectVO projectVO(long id) {
+        Project project = project(id);
+        ProjectVO vo = new ProjectVO();
+        vo.setId(project.getId());
+        vo.setName(project.getName());
+        vo.setOwner(project.getOwner());
+        vo.setStatus(project.getStatus());
+        vo.setCreatedAt(project.getCreatedAt());
+        vo.setUpdatedAt(project.getUpdatedAt());
+        vo.setDeleted(project.getDeleted());
+        return vo;
+    }
+}
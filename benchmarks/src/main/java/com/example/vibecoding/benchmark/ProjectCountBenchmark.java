@@ -0,0 +1,127 @@
+package com.example.vibecoding.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 项目列表各 countMode 下单次请求实际执行的 SQL 耗时
+ * 需要先用 benchmarks/sql/seed-project-1m.sql 准备数据，连接通过 -Dbench.jdbc.url/user/password 指定（fork 的JVM会继承这些参数），例如：
+ * java -Dbench.jdbc.url=jdbc:mysql://localhost:3306/test -jar benchmarks/target/benchmarks.jar ProjectCount
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectCountBenchmark {
+
+    private static final String COLUMNS = "SELECT id,name,owner,status,created_at,updated_at,deleted FROM project";
+    private static final String FILTER = " WHERE deleted=0 AND ((name LIKE ? OR owner LIKE ?))";
+    private static final String NO_FILTER = " WHERE deleted=0";
+
+    /**
+     * 空字符串表示不带关键字
+     */
+    @Param({"", "owner12"})
+    private String keyword;
+
+    @Param({"1", "1000"})
+    private int page;
+
+    private final int size = 10;
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/test?useSSL=false&serverTimezone=GMT%2B8"),
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", "root"));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * countMode=exact：COUNT(*) + LIMIT offset,size
+     */
+    @Benchmark
+    public int exact() throws SQLException {
+        String where = keyword.isEmpty() ? NO_FILTER : FILTER;
+        long total = count("SELECT COUNT(*) AS total FROM project" + where);
+        return (int) total + rows(COLUMNS + where + " ORDER BY created_at DESC LIMIT ?,?", size);
+    }
+
+    /**
+     * countMode=none：只取 size+1 行
+     */
+    @Benchmark
+    public int none() throws SQLException {
+        String where = keyword.isEmpty() ? NO_FILTER : FILTER;
+        return rows(COLUMNS + where + " ORDER BY created_at DESC LIMIT ?,?", size + 1);
+    }
+
+    /**
+     * countMode=estimate（缓存命中时）：只执行分页查询
+     */
+    @Benchmark
+    public int estimate() throws SQLException {
+        String where = keyword.isEmpty() ? NO_FILTER : FILTER;
+        return rows(COLUMNS + where + " ORDER BY created_at DESC LIMIT ?,?", size);
+    }
+
+    private long count(String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bindKeyword(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private int rows(String sql, int limit) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = bindKeyword(statement);
+            statement.setLong(index++, (long) (page - 1) * size);
+            statement.setInt(index, limit);
+            int rows = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    private int bindKeyword(PreparedStatement statement) throws SQLException {
+        if (keyword.isEmpty()) {
+            return 1;
+        }
+        statement.setString(1, "%" + keyword + "%");
+        statement.setString(2, "%" + keyword + "%");
+        return 3;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.vibecoding.benchmark;
+
+import com.example.vibecoding.service.RequestContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RequestContext bind/read/reset 基准，配合 GC profiler 的 gc.alloc.rate.norm 观察每次 bind 的分配字节数
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RequestContextBenchmark {
+
+    private static final ThreadLocal<Map<String, Object>> LEGACY = new ThreadLocal<>();
+
+    private final RequestContext requestContext = new RequestContext();
+    private final String traceId = "4f1c2a7e-0b9d-4c55-9f0e-3a8d2b6c1e90";
+    private final String userId = "1001";
+
+    @Benchmark
+    public Object legacyHashMap() {
+        // 改造前的实现：每次 bind 新建 HashMap 并分配 2MB payload，reset 时 remove
+        Map<String, Object> ctx = LEGACY.get();
+        if (ctx == null) {
+            ctx = new HashMap<>();
+            LEGACY.set(ctx);
+        }
+        ctx.put("traceId", traceId);
+        ctx.put("userId", userId);
+        ctx.put("payload", new byte[2 * 1024 * 1024]);
+        try {
+            return ctx.get("userId");
+        } finally {
+            LEGACY.remove();
+        }
+    }
+
+    @Benchmark
+    public Object bindReadReset() {
+        requestContext.bind(traceId, userId);
+        try {
+            return requestContext.read("userId");
+        } finally {
+            requestContext.reset();
+        }
+    }
+
+    @Benchmark
+    public Object bindWithPayload() {
+        // 需要缓冲区时从池中借出，reset 归还，稳态下同样不分配
+        requestContext.bind(traceId, userId);
+        try {
+            return requestContext.payload();
+        } finally {
+            requestContext.reset();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.vibecoding.benchmark;
+
+import com.example.vibecoding.util.ThirdPartySignatureUtil;
+import com.example.vibecoding.util.ThirdPartySigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 第三方签名基准：旧的逐次构造实现 vs 复用的 {@link ThirdPartySigner}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+
+    private static final String APP_KEY = "bench-app-key";
+    private static final String APP_SECRET = "bench-app-secret";
+    private static final String PATH = "/api/v1/dataapi/execute/dict/query";
+
+    private final Map<String, Object> queryParams = new HashMap<>();
+
+    public SignatureBenchmark() {
+        queryParams.put("pageNum", 1L);
+        queryParams.put("pageSize", 10L);
+        queryParams.put("dictType", "java类");
+    }
+
+    @Benchmark
+    public String legacy() throws Exception {
+        String timestamp = ThirdPartySignatureUtil.generateTimestamp();
+        String stringToSign = ThirdPartySignatureUtil.buildSignString("GET", PATH, queryParams, APP_KEY, timestamp);
+        return ThirdPartySignatureUtil.sign(APP_SECRET, stringToSign);
+    }
+
+    @Benchmark
+    public Map<String, String> generateHeaders() {
+        return ThirdPartySignatureUtil.generateHeaders(APP_KEY, APP_SECRET, "GET", PATH, queryParams);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.vibecoding.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字典查询 URL 参数拼接基准
+ * 与 DictServiceImpl 同包，以便直接调用包可见的 buildQueryString
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryStringBenchmark {
+
+    private final Map<String, Object> params = new HashMap<>();
+
+    public QueryStringBenchmark() {
+        params.put("pageNum", 1L);
+        params.put("pageSize", 10L);
+        params.put("dictType", "java类");
+    }
+
+    @Benchmark
+    public String buildQueryString() {
+        return DictServiceImpl.buildQueryString(params);
+    }
+}
@@ -12,11 +12,20 @@ CREATE TABLE IF NOT EXISTS project (
     status INT NOT NULL COMMENT '0=DRAFT, 1=ACTIVE, 2=ARCHIVED',
     created_at DATETIME NOT NULL,
     updated_at DATETIME NOT NULL,
-    deleted TINYINT NOT NULL DEFAULT 0 COMMENT '逻辑删除：0=未删除，1=已删除'
+    deleted TINYINT NOT NULL DEFAULT 0 COMMENT '逻辑删除：0=未删除，1=已删除',
+    KEY idx_deleted_created_id (deleted, created_at, id) COMMENT '列表按创建时间倒序分页/游标seek',
+    FULLTEXT KEY ft_name_owner (name, owner) WITH PARSER ngram COMMENT '关键字检索（project.search.mode=FULLTEXT）'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 已有库升级：ALTER TABLE project ADD KEY idx_deleted_created_id (deleted, created_at, id);
+-- 已有库升级：ALTER TABLE project ADD FULLTEXT KEY ft_name_owner (name, owner) WITH PARSER ngram;
+-- 全文检索依赖 ngram_token_size=2（默认值）；建议 innodb_ft_enable_stopword=OFF，避免含停用词的关键字查不到
+
+-- 第三方调用日志表：按 created_at 按天 RANGE 分区，分区的创建与过期删除由 CallLogPartitionJob 维护
+-- 分区表的主键/唯一键必须包含分区列，因此主键为 (id, created_at)
+-- p_history 存放分区启用前的历史数据；p_future 兜底，正常情况下应为空（作业会提前创建未来的分区）
 CREATE TABLE IF NOT EXISTS `external_call_log` (
-                                                   `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
     `trace_id` varchar(64) NOT NULL COMMENT '请求追踪ID',
     `request_id` varchar(64) DEFAULT NULL COMMENT '请求ID',
     `service` varchar(50) NOT NULL COMMENT '服务名称',
@@ -30,8 +39,40 @@ CREATE TABLE IF NOT EXISTS `external_call_log` (
     `exception_type` varchar(100) DEFAULT NULL COMMENT '异常类型',
     `exception_message` varchar(1000) DEFAULT NULL COMMENT '异常消息',
     `created_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
-    PRIMARY KEY (`id`),
-    KEY `idx_trace_id` (`trace_id`),
-    KEY `idx_service` (`service`),
-    KEY `idx_created_at` (`created_at`)
-    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='第三方调用日志表';
\ No newline at end of file
+    PRIMARY KEY (`id`, `created_at`),
+    KEY `idx_trace_attempt` (`trace_id`, `attempt`) COMMENT '按 traceId 查询全部尝试（/api/call-logs/trace）',
+    KEY `idx_service_created_id` (`service`, `created_at`, `id`) COMMENT '按服务+时间范围游标分页',
+    KEY `idx_created_id` (`created_at`, `id`) COMMENT '按时间范围游标分页'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='第三方调用日志表'
+PARTITION BY RANGE (TO_DAYS(`created_at`)) (
+    PARTITION p_history VALUES LESS THAN (TO_DAYS('2026-01-01')),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- 已有库升级（会重建表，建议在低峰期执行）：
+-- ALTER TABLE external_call_log DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+-- ALTER TABLE external_call_log PARTITION BY RANGE (TO_DAYS(created_at)) (
+--     PARTITION p_history VALUES LESS THAN (TO_DAYS('2026-01-01')),
+--     PARTITION p_future VALUES LESS THAN MAXVALUE);
+-- ALTER TABLE external_call_log DROP KEY idx_trace_id, DROP KEY idx_service, DROP KEY idx_created_at,
+--     ADD KEY idx_trace_attempt (trace_id, attempt), ADD KEY idx_service_created_id (service, created_at, id),
+--     ADD KEY idx_created_id (created_at, id);
+
+-- 第三方调用按服务、按分钟的汇总表，由 CallLogRollupJob 从明细表聚合，看板查询此表而不扫描明细
+-- 耗时分位数为 nearest-rank 算法（该分钟内按耗时排序后第 ceil(N*p) 条）
+CREATE TABLE IF NOT EXISTS `external_call_log_minute` (
+    `service` varchar(50) NOT NULL COMMENT '服务名称',
+    `bucket_start` datetime NOT NULL COMMENT '分钟起始时间',
+    `total_count` int(11) NOT NULL COMMENT '调用次数（每次尝试一条，不含合并请求的跟随记录）',
+    `success_count` int(11) NOT NULL COMMENT '成功次数',
+    `retry_count` int(11) NOT NULL COMMENT '重试次数（attempt > 1）',
+    `success_rate` decimal(5,4) AS (`success_count` / `total_count`) VIRTUAL COMMENT '成功率',
+    `avg_duration_ms` bigint(20) NOT NULL COMMENT '平均耗时毫秒',
+    `max_duration_ms` bigint(20) NOT NULL COMMENT '最大耗时毫秒',
+    `p50_duration_ms` bigint(20) NOT NULL COMMENT '耗时P50',
+    `p95_duration_ms` bigint(20) NOT NULL COMMENT '耗时P95',
+    `p99_duration_ms` bigint(20) NOT NULL COMMENT '耗时P99',
+    `updated_at` datetime NOT NULL COMMENT '最近一次聚合时间',
+    PRIMARY KEY (`service`, `bucket_start`),
+    KEY `idx_bucket_start` (`bucket_start`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='第三方调用分钟级汇总表';